@@ -0,0 +1,219 @@
+package com.casestudy.apigateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.Setter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Collapses concurrent identical GETs on a route into one upstream call and, when {@code ttl} is positive, keeps
+ * successful responses in a size-bounded cache for that long. A successful POST, PUT, PATCH or DELETE through the
+ * route evicts every entry under the resource it touched ({@code /api/organizations/{id}/members} evicts
+ * everything under {@code /api/organizations/{id}}; a path without an id evicts the whole collection).
+ * <p>
+ * Changes the gateway does not see, such as memberships created by invitation-service, are only bounded by the TTL.
+ * <pre>
+ * spring.cloud.gateway.routes[n].filters[0]=CoalescingCache=2s,10000
+ * </pre>
+ */
+@Component
+public class CoalescingCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalescingCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Pattern ID_SEGMENT =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    public CoalescingCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl", "maxEntries");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Must wrap the response before NettyWriteResponseFilter copies the upstream body into it.
+        return new OrderedGatewayFilter(new CoalescingCacheFilter(config),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+
+        /** How long a response stays cached; zero only coalesces in-flight requests. */
+        private Duration ttl = Duration.ZERO;
+
+        private long maxEntries = 10_000;
+    }
+
+    private record CacheKey(String path, String query, String accept) {
+
+        static CacheKey of(ServerHttpRequest request) {
+            return new CacheKey(request.getPath().value(),
+                    request.getURI().getRawQuery(),
+                    request.getHeaders().getFirst(HttpHeaders.ACCEPT));
+        }
+
+        boolean isUnder(String resource) {
+            return path.equals(resource) || path.startsWith(resource + "/");
+        }
+    }
+
+    private record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private static final class CoalescingCacheFilter implements GatewayFilter {
+
+        private final ConcurrentMap<CacheKey, Mono<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+        private final Cache<CacheKey, CachedResponse> cache;
+        private final AtomicLong generation = new AtomicLong();
+
+        CoalescingCacheFilter(Config config) {
+            this.cache = !config.getTtl().isZero() && !config.getTtl().isNegative()
+                    ? Caffeine.newBuilder().maximumSize(config.getMaxEntries()).expireAfterWrite(config.getTtl()).build()
+                    : null;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() == HttpMethod.GET) {
+                return get(exchange, chain, CacheKey.of(request));
+            }
+            if (request.getMethod() == HttpMethod.HEAD || request.getMethod() == HttpMethod.OPTIONS) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange).doOnSuccess(done -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    invalidate(request.getPath().value());
+                }
+            });
+        }
+
+        private Mono<Void> get(ServerWebExchange exchange, GatewayFilterChain chain, CacheKey key) {
+            CachedResponse cached = cache != null ? cache.getIfPresent(key) : null;
+            if (cached != null) {
+                return write(exchange.getResponse(), cached, "HIT");
+            }
+
+            Sinks.One<CachedResponse> sink = Sinks.one();
+            Mono<CachedResponse> shared = inFlight.putIfAbsent(key, sink.asMono());
+            if (shared != null) {
+                return shared.map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .onErrorReturn(Optional.empty())
+                        .flatMap(response -> response.isPresent()
+                                ? write(exchange.getResponse(), response.get(), "COALESCED")
+                                : chain.filter(exchange));
+            }
+
+            long startedAt = generation.get();
+            Mono<CachedResponse> published = sink.asMono();
+            ServerHttpResponse capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        CachedResponse response = capture(getDelegate(), bytes);
+                        inFlight.remove(key, published);
+                        sink.tryEmitValue(response);
+                        if (isCacheable(response) && generation.get() == startedAt) {
+                            cache.put(key, response);
+                        }
+                        getDelegate().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                        return getDelegate().writeWith(Mono.just(getDelegate().bufferFactory().wrap(bytes)));
+                    });
+                }
+            };
+            return chain.filter(exchange.mutate().response(capturing).build())
+                    .doOnError(sink::tryEmitError)
+                    .doFinally(signal -> {
+                        inFlight.remove(key, published);
+                        sink.tryEmitEmpty();
+                    });
+        }
+
+        private boolean isCacheable(CachedResponse response) {
+            if (cache == null || !response.status().is2xxSuccessful()) {
+                return false;
+            }
+            String cacheControl = response.headers().getCacheControl();
+            return cacheControl == null
+                    || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+        }
+
+        private void invalidate(String path) {
+            generation.incrementAndGet();
+            if (cache == null) {
+                return;
+            }
+            String resource = resourceOf(path);
+            cache.asMap().keySet().removeIf(key -> key.isUnder(resource));
+        }
+
+        /** {@code /api/users/{id}/...} maps to {@code /api/users/{id}}, anything else to {@code /api/users}. */
+        private static String resourceOf(String path) {
+            String[] segments = path.split("/");
+            if (segments.length < 3) {
+                return path;
+            }
+            String collection = "/" + segments[1] + "/" + segments[2];
+            return segments.length > 3 && ID_SEGMENT.matcher(segments[3]).matches()
+                    ? collection + "/" + segments[3]
+                    : collection;
+        }
+
+        private static CachedResponse capture(ServerHttpResponse response, byte[] body) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            headers.remove(HttpHeaders.CONNECTION);
+            headers.remove(CACHE_STATUS_HEADER);
+            headers.setContentLength(body.length);
+            return new CachedResponse(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body);
+        }
+
+        private static Mono<Void> write(ServerHttpResponse response, CachedResponse cached, String cacheStatus) {
+            response.setStatusCode(cached.status());
+            response.getHeaders().putAll(cached.headers());
+            response.getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.casestudy.apigateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+/**
+ * Answers 404 for any request a route would forward to an {@code /internal/**} path, such as the peer cache
+ * invalidation endpoint of organization-service. Runs once the route's filters have rewritten the path and the
+ * upstream URL is known, so no route definition can expose those endpoints by accident.
+ */
+@Component
+class InternalPathBlockingGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final String INTERNAL_PREFIX = "/internal/";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        String path = url != null ? url.getRawPath() : exchange.getRequest().getURI().getRawPath();
+        if (path != null && (path.equals("/internal") || path.startsWith(INTERNAL_PREFIX))) {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,127 @@
+package com.casestudy.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process token-bucket rate limiting for a route, without the Redis that the stock {@code RequestRateLimiter}
+ * needs. Each client gets {@code clientRate} requests per second with bursts up to {@code clientBurst}, and the route
+ * as a whole {@code routeRate} with bursts up to {@code routeBurst}, so one client cannot use up the downstream
+ * service. Rejected requests get {@code 429 Too Many Requests} with {@code Retry-After} and never reach it.
+ * <p>
+ * Clients are told apart by remote address, or by {@code keyHeader} when a trusted proxy in front of the gateway sets
+ * one. Limits are per gateway instance.
+ * <pre>
+ * spring.cloud.gateway.routes[n].filters[0]=RateLimit=50,100,1000,2000
+ * </pre>
+ */
+@Component
+public class RateLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RateLimitGatewayFilterFactory.Config> {
+
+    private static final String UNKNOWN_CLIENT = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("clientRate", "clientBurst", "routeRate", "routeBurst");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        TokenBucketLimiter clients = new TokenBucketLimiter(config.getClientRate(), config.getClientBurst(),
+                config.getMaxClients());
+        TokenBucketLimiter route = new TokenBucketLimiter(config.getRouteRate(), config.getRouteBurst(), 1);
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        Counter allowed = counter(routeId, "allowed");
+        Counter clientLimited = counter(routeId, "client_limited");
+        Counter routeLimited = counter(routeId, "route_limited");
+
+        return (exchange, chain) -> {
+            long waitNanos = clients.tryAcquire(clientKey(exchange, config.getKeyHeader()));
+            if (waitNanos > 0) {
+                clientLimited.increment();
+                return reject(exchange.getResponse(), waitNanos);
+            }
+            waitNanos = route.tryAcquire(routeId);
+            if (waitNanos > 0) {
+                routeLimited.increment();
+                return reject(exchange.getResponse(), waitNanos);
+            }
+            allowed.increment();
+            return chain.filter(exchange);
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Config implements HasRouteId {
+
+        /** Requests per second per client, and how many a client may send at once after being idle. */
+        private double clientRate = 50;
+        private int clientBurst = 100;
+
+        /** Requests per second for the whole route, and its burst. */
+        private double routeRate = 1000;
+        private int routeBurst = 2000;
+
+        /** Header identifying the client instead of its address; only safe if a trusted proxy sets it. */
+        private String keyHeader;
+
+        /** Clients tracked at once; beyond that the least recently seen start over with a full bucket. */
+        private long maxClients = 100_000;
+
+        private String routeId;
+    }
+
+    private Counter counter(String routeId, String outcome) {
+        return Counter.builder("gateway.ratelimit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String clientKey(ServerWebExchange exchange, String keyHeader) {
+        if (keyHeader != null) {
+            String key = exchange.getRequest().getHeaders().getFirst(keyHeader);
+            if (StringUtils.hasText(key)) {
+                return key;
+            }
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) {
+            return UNKNOWN_CLIENT;
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, long waitNanos) {
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        return response.setComplete();
+    }
+}
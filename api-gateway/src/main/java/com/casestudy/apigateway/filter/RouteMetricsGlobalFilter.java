@@ -0,0 +1,171 @@
+package com.casestudy.apigateway.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Records every routed request by route and upstream instance: latency ({@code gateway.route.requests}, tagged with
+ * the status), time to the upstream response headers ({@code gateway.route.upstream}) and request and response body
+ * sizes ({@code gateway.route.request.bytes}, {@code gateway.route.response.bytes}). Requests the gateway answers
+ * itself, such as cache hits and rate-limited requests, are tagged {@code instance=none}.
+ * <p>
+ * Requests slower than {@code gateway.slow-requests.threshold-ms} are logged to the {@code gateway.slow-requests}
+ * logger with the time spent before the upstream call, waiting for its response headers and streaming the response
+ * back, at most {@code gateway.slow-requests.max-logged-per-second} of them. Event streams stay open by design, so
+ * they are left out of the latency timer and the slow request log.
+ */
+@Component
+@Slf4j(topic = "gateway.slow-requests")
+public class RouteMetricsGlobalFilter implements GlobalFilter, Ordered {
+
+    private static final String NONE = "none";
+    private static final String SLOW_LOG_KEY = "slow";
+    private static final String ERROR_ATTR = RouteMetricsGlobalFilter.class.getName() + ".error";
+
+    private final Meter.MeterProvider<Timer> requests;
+    private final Meter.MeterProvider<Timer> upstream;
+    private final Meter.MeterProvider<DistributionSummary> requestBytes;
+    private final Meter.MeterProvider<DistributionSummary> responseBytes;
+    private final long slowThresholdNanos;
+    private final TokenBucketLimiter slowLogLimiter;
+
+    public RouteMetricsGlobalFilter(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.slow-requests.threshold-ms:1000}") long slowThresholdMs,
+            @Value("${gateway.slow-requests.max-logged-per-second:10}") int maxLoggedPerSecond) {
+        this.requests = Timer.builder("gateway.route.requests")
+                .description("Requests through the gateway, from arrival until the response is written")
+                .withRegistry(meterRegistry);
+        this.upstream = Timer.builder("gateway.route.upstream")
+                .description("Time from sending a request upstream until its response headers arrive")
+                .withRegistry(meterRegistry);
+        this.requestBytes = DistributionSummary.builder("gateway.route.request.bytes")
+                .description("Request body bytes received from clients")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+        this.responseBytes = DistributionSummary.builder("gateway.route.response.bytes")
+                .description("Response body bytes sent to clients")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowLogLimiter = new TokenBucketLimiter(maxLoggedPerSecond, Math.max(1, maxLoggedPerSecond), 1);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startedAt = System.nanoTime();
+        AtomicLong bytesIn = new AtomicLong();
+        AtomicLong bytesOut = new AtomicLong();
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return super.getBody().doOnNext(buffer -> bytesIn.addAndGet(buffer.readableByteCount()));
+            }
+        };
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(this::count));
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return super.writeAndFlushWith(Flux.from(body).map(part -> Flux.from(part).doOnNext(this::count)));
+            }
+
+            private void count(DataBuffer buffer) {
+                bytesOut.addAndGet(buffer.readableByteCount());
+            }
+        };
+        ServerWebExchange measured = exchange.mutate().request(request).response(response).build();
+        return chain.filter(measured)
+                .doOnError(error -> measured.getAttributes().put(ERROR_ATTR, error))
+                .doFinally(signal -> record(measured, signal, startedAt, bytesIn.get(), bytesOut.get()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long startedAt, long bytesIn, long bytesOut) {
+        long finishedAt = System.nanoTime();
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : NONE;
+        String instance = exchange.getAttributeOrDefault(UpstreamTimingGlobalFilter.INSTANCE_ATTR, NONE);
+        Tags tags = Tags.of("route", routeId, "instance", instance);
+
+        requestBytes.withTags(tags).record(bytesIn);
+        responseBytes.withTags(tags).record(bytesOut);
+        Long upstreamStartedAt = exchange.getAttribute(UpstreamTimingGlobalFilter.STARTED_AT_ATTR);
+        Long upstreamRespondedAt = exchange.getAttribute(UpstreamTimingGlobalFilter.RESPONDED_AT_ATTR);
+        boolean calledUpstream = upstreamStartedAt != null && upstreamRespondedAt != null;
+        if (calledUpstream) {
+            upstream.withTags(tags).record(upstreamRespondedAt - upstreamStartedAt, TimeUnit.NANOSECONDS);
+        }
+
+        MediaType contentType = exchange.getResponse().getHeaders().getContentType();
+        if (contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)) {
+            return;
+        }
+        String status = status(exchange, signal);
+        long totalNanos = finishedAt - startedAt;
+        requests.withTags(tags.and("status", status)).record(totalNanos, TimeUnit.NANOSECONDS);
+
+        if (totalNanos >= slowThresholdNanos && slowLogLimiter.tryAcquire(SLOW_LOG_KEY) == 0) {
+            long beforeUpstream = calledUpstream ? upstreamStartedAt - startedAt : totalNanos;
+            long waitingUpstream = calledUpstream ? upstreamRespondedAt - upstreamStartedAt : 0;
+            long afterUpstream = calledUpstream ? finishedAt - upstreamRespondedAt : 0;
+            log.warn("Slow request route={} instance={} method={} path={} status={} total_ms={} gateway_ms={} "
+                            + "upstream_ms={} response_ms={} bytes_in={} bytes_out={}",
+                    routeId, instance, exchange.getRequest().getMethod(), exchange.getRequest().getPath().value(),
+                    status, millis(totalNanos), millis(beforeUpstream), millis(waitingUpstream),
+                    millis(afterUpstream), bytesIn, bytesOut);
+        }
+    }
+
+    /** Errors not yet turned into a response are reported the way the default error handler will answer them. */
+    private static String status(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            Throwable error = exchange.getAttribute(ERROR_ATTR);
+            return error instanceof ResponseStatusException e ? String.valueOf(e.getStatusCode().value()) : "500";
+        }
+        if (signal == SignalType.CANCEL) {
+            return "CANCELLED";
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? String.valueOf(status.value()) : "200";
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,78 @@
+package com.casestudy.apigateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets by key, each refilled continuously at {@code ratePerSecond} up to {@code burst} tokens.
+ * <p>
+ * Buckets are plain mutable pairs guarded by a fixed array of lock stripes chosen by key hash, instead of a lock or
+ * an atomic object per bucket, so a bucket costs two fields and unrelated keys rarely contend. Buckets idle long
+ * enough to have refilled are dropped, which loses nothing since a new bucket starts full; {@code maxKeys} bounds
+ * the memory a flood of distinct keys can take.
+ */
+final class TokenBucketLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final Cache<String, Bucket> buckets;
+    private final Object[] stripes = new Object[STRIPES];
+    private final LongSupplier nanoClock;
+
+    TokenBucketLimiter(double ratePerSecond, int burst, long maxKeys) {
+        this(ratePerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(double ratePerSecond, int burst, long maxKeys, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        long refillNanos = (long) Math.ceil(burst / tokensPerNano);
+        this.buckets = Caffeine.newBuilder()
+                .ticker(nanoClock::getAsLong)
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(refillNanos, TimeUnit.SECONDS.toNanos(1))))
+                .build();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Takes one token from {@code key}'s bucket. Returns 0 if it had one, otherwise how many nanoseconds until it
+     * will.
+     */
+    long tryAcquire(String key) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(burst, nanoClock.getAsLong()));
+        synchronized (stripes[(key.hashCode() & Integer.MAX_VALUE) % STRIPES]) {
+            long now = nanoClock.getAsLong();
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.refilledAt) * tokensPerNano);
+            bucket.refilledAt = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
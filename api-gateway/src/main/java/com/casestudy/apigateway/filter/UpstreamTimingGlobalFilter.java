@@ -0,0 +1,44 @@
+package com.casestudy.apigateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+/**
+ * Runs right before {@link NettyRoutingFilter} and notes, in exchange attributes read by
+ * {@link RouteMetricsGlobalFilter}, which instance the load balancer picked and when the upstream call started and
+ * got its response headers. The routing filter completes once the headers arrive; the body is streamed afterwards.
+ * Requests answered by the gateway itself (cache hits, rate limiting) never get here.
+ */
+@Component
+class UpstreamTimingGlobalFilter implements GlobalFilter, Ordered {
+
+    static final String INSTANCE_ATTR = UpstreamTimingGlobalFilter.class.getName() + ".instance";
+    static final String STARTED_AT_ATTR = UpstreamTimingGlobalFilter.class.getName() + ".startedAt";
+    static final String RESPONDED_AT_ATTR = UpstreamTimingGlobalFilter.class.getName() + ".respondedAt";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (url != null && url.getHost() != null) {
+            String instance = url.getPort() < 0 ? url.getHost() : url.getHost() + ":" + url.getPort();
+            exchange.getAttributes().put(INSTANCE_ATTR, instance);
+        }
+        exchange.getAttributes().put(STARTED_AT_ATTR, System.nanoTime());
+        return chain.filter(exchange)
+                .doFinally(signal -> exchange.getAttributes().put(RESPONDED_AT_ATTR, System.nanoTime()));
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
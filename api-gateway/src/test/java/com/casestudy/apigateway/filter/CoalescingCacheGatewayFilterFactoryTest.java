@@ -0,0 +1,190 @@
+package com.casestudy.apigateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.casestudy.apigateway.filter.CoalescingCacheGatewayFilterFactory.CACHE_STATUS_HEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingCacheGatewayFilterFactoryTest {
+
+	private static final String ORGANIZATION = "/api/organizations/" + UUID.randomUUID();
+
+	private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+	@Test
+	void concurrentIdenticalGetsShareOneUpstreamCall() {
+		GatewayFilter filter = filter(Duration.ZERO, 100);
+		Sinks.Empty<Void> release = Sinks.empty();
+		MockServerWebExchange first = exchange(HttpMethod.GET, ORGANIZATION);
+		MockServerWebExchange second = exchange(HttpMethod.GET, ORGANIZATION);
+
+		Mono<Void> firstDone = filter.filter(first, upstream(HttpStatus.OK, release.asMono())).cache();
+		firstDone.subscribe();
+		Mono<Void> secondDone = filter.filter(second, upstream(HttpStatus.OK)).cache();
+		secondDone.subscribe();
+		release.tryEmitEmpty();
+		firstDone.block();
+		secondDone.block();
+
+		assertEquals(1, upstreamCalls.get());
+		assertEquals("MISS", cacheStatus(first));
+		assertEquals("COALESCED", cacheStatus(second));
+		assertEquals(body(first), body(second));
+
+		assertEquals("MISS", cacheStatus(get(filter, ORGANIZATION)));
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void servesCachedResponsesUntilTheTtlRunsOut() throws InterruptedException {
+		GatewayFilter filter = filter(Duration.ofMillis(300), 100);
+
+		MockServerWebExchange miss = get(filter, ORGANIZATION);
+		MockServerWebExchange hit = get(filter, ORGANIZATION);
+
+		assertEquals("MISS", cacheStatus(miss));
+		assertEquals("HIT", cacheStatus(hit));
+		assertEquals(HttpStatus.OK, hit.getResponse().getStatusCode());
+		assertEquals(body(miss), body(hit));
+		assertEquals(1, upstreamCalls.get());
+
+		Thread.sleep(600);
+
+		assertEquals("MISS", cacheStatus(get(filter, ORGANIZATION)));
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void successfulMutationsEvictTheResourceTheyTouch() {
+		GatewayFilter filter = filter(Duration.ofMinutes(1), 100);
+		String otherOrganization = "/api/organizations/" + UUID.randomUUID();
+		get(filter, ORGANIZATION);
+		get(filter, ORGANIZATION + "/members");
+		get(filter, otherOrganization);
+		get(filter, "/api/organizations");
+
+		send(filter, HttpMethod.POST, ORGANIZATION + "/members", HttpStatus.CONFLICT);
+		assertEquals("HIT", cacheStatus(get(filter, ORGANIZATION + "/members")));
+
+		send(filter, HttpMethod.POST, ORGANIZATION + "/members", HttpStatus.CREATED);
+		assertEquals("MISS", cacheStatus(get(filter, ORGANIZATION)));
+		assertEquals("MISS", cacheStatus(get(filter, ORGANIZATION + "/members")));
+		assertEquals("HIT", cacheStatus(get(filter, otherOrganization)));
+		assertEquals("HIT", cacheStatus(get(filter, "/api/organizations")));
+
+		send(filter, HttpMethod.POST, "/api/organizations", HttpStatus.CREATED);
+		assertEquals("MISS", cacheStatus(get(filter, otherOrganization)));
+		assertEquals("MISS", cacheStatus(get(filter, "/api/organizations")));
+	}
+
+	@Test
+	void responseStartedBeforeAMutationIsNotCached() {
+		GatewayFilter filter = filter(Duration.ofMinutes(1), 100);
+		Sinks.Empty<Void> release = Sinks.empty();
+		MockServerWebExchange stale = exchange(HttpMethod.GET, ORGANIZATION);
+
+		Mono<Void> staleDone = filter.filter(stale, upstream(HttpStatus.OK, release.asMono())).cache();
+		staleDone.subscribe();
+		send(filter, HttpMethod.PUT, ORGANIZATION, HttpStatus.OK);
+		release.tryEmitEmpty();
+		staleDone.block();
+
+		assertEquals("MISS", cacheStatus(stale));
+		assertEquals("MISS", cacheStatus(get(filter, ORGANIZATION)));
+		assertEquals("HIT", cacheStatus(get(filter, ORGANIZATION)));
+	}
+
+	@Test
+	void doesNotCacheErrorsOrNoStoreResponses() {
+		GatewayFilter filter = filter(Duration.ofMinutes(1), 100);
+
+		filter.filter(exchange(HttpMethod.GET, ORGANIZATION), upstream(HttpStatus.SERVICE_UNAVAILABLE)).block();
+		assertEquals("MISS", cacheStatus(get(filter, ORGANIZATION)));
+
+		GatewayFilterChain noStore = exchange -> {
+			exchange.getResponse().getHeaders().setCacheControl("no-store");
+			return upstream(HttpStatus.OK).filter(exchange);
+		};
+		filter.filter(exchange(HttpMethod.GET, "/api/users"), noStore).block();
+		assertEquals("MISS", cacheStatus(get(filter, "/api/users")));
+	}
+
+	@Test
+	void keepsAtMostMaxEntries() throws InterruptedException {
+		int maxEntries = 2;
+		GatewayFilter filter = filter(Duration.ofMinutes(1), maxEntries);
+		for (int i = 0; i < 50; i++) {
+			get(filter, "/api/users/" + UUID.nameUUIDFromBytes(new byte[]{(byte) i}));
+		}
+		// Caffeine evicts on a background thread shortly after the writes.
+		Thread.sleep(500);
+
+		int hits = 0;
+		for (int i = 0; i < 50; i++) {
+			if ("HIT".equals(cacheStatus(get(filter, "/api/users/" + UUID.nameUUIDFromBytes(new byte[]{(byte) i}))))) {
+				hits++;
+			}
+		}
+		assertTrue(hits <= maxEntries, hits + " cached responses survived, expected at most " + maxEntries);
+	}
+
+	private static GatewayFilter filter(Duration ttl, long maxEntries) {
+		CoalescingCacheGatewayFilterFactory.Config config = new CoalescingCacheGatewayFilterFactory.Config();
+		config.setTtl(ttl);
+		config.setMaxEntries(maxEntries);
+		return new CoalescingCacheGatewayFilterFactory().apply(config);
+	}
+
+	private GatewayFilterChain upstream(HttpStatus status) {
+		return upstream(status, Mono.empty());
+	}
+
+	/** Answers with a body unique to each call once {@code gate} completes. */
+	private GatewayFilterChain upstream(HttpStatus status, Mono<Void> gate) {
+		return exchange -> gate.then(Mono.defer(() -> {
+			int call = upstreamCalls.incrementAndGet();
+			exchange.getResponse().setStatusCode(status);
+			byte[] body = ("response " + call).getBytes(StandardCharsets.UTF_8);
+			return exchange.getResponse().writeWith(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+		}));
+	}
+
+	private MockServerWebExchange get(GatewayFilter filter, String path) {
+		return send(filter, HttpMethod.GET, path, HttpStatus.OK);
+	}
+
+	private MockServerWebExchange send(GatewayFilter filter, HttpMethod method, String path, HttpStatus status) {
+		MockServerWebExchange exchange = exchange(method, path);
+		filter.filter(exchange, upstream(status)).block();
+		return exchange;
+	}
+
+	private static MockServerWebExchange exchange(HttpMethod method, String path) {
+		return MockServerWebExchange.from(MockServerHttpRequest.method(method, path)
+				.header(HttpHeaders.ACCEPT, "application/json"));
+	}
+
+	private static String cacheStatus(MockServerWebExchange exchange) {
+		return exchange.getResponse().getHeaders().getFirst(CACHE_STATUS_HEADER);
+	}
+
+	private static String body(MockServerWebExchange exchange) {
+		return exchange.getResponse().getBodyAsString().block();
+	}
+}
@@ -0,0 +1,57 @@
+package com.casestudy.apigateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+class InternalPathBlockingGlobalFilterTest {
+
+	private final InternalPathBlockingGlobalFilter filter = new InternalPathBlockingGlobalFilter();
+
+	@Test
+	void blocksRequestsRewrittenToAnInternalPath() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.delete("/organization-service/internal/cache/organizations/1"));
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR,
+				URI.create("lb://organization-service/internal/cache/organizations/1"));
+
+		assertFalse(forwarded(exchange));
+		assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+	}
+
+	@Test
+	void blocksInternalPathsBeforeTheUpstreamUrlIsKnown() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/internal/cache"));
+
+		assertFalse(forwarded(exchange));
+		assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+	}
+
+	@Test
+	void forwardsOtherPaths() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/organizations/internal"));
+		exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR,
+				URI.create("lb://organization-service/api/organizations/internal"));
+
+		assertTrue(forwarded(exchange));
+	}
+
+	private boolean forwarded(MockServerWebExchange exchange) {
+		AtomicBoolean forwarded = new AtomicBoolean();
+		filter.filter(exchange, e -> {
+			forwarded.set(true);
+			return Mono.empty();
+		}).block();
+		return forwarded.get();
+	}
+}
@@ -0,0 +1,69 @@
+package com.casestudy.apigateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitGatewayFilterFactoryTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void rejectsWithRetryAfterRoundedUpToWholeSeconds() {
+		GatewayFilter filter = filter(0.2, 1);
+
+		assertNull(send(filter, "10.0.0.1").getResponse().getStatusCode());
+		MockServerWebExchange rejected = send(filter, "10.0.0.1");
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+		assertEquals("5", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void retryAfterIsAtLeastOneSecond() {
+		GatewayFilter filter = filter(50, 1);
+		send(filter, "10.0.0.1");
+
+		assertEquals("1", send(filter, "10.0.0.1").getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void limitsClientsSeparatelyAndCountsOutcomes() {
+		GatewayFilter filter = filter(1, 1);
+		send(filter, "10.0.0.1");
+		send(filter, "10.0.0.1");
+		send(filter, "10.0.0.2");
+
+		assertEquals(2, count("allowed"));
+		assertEquals(1, count("client_limited"));
+	}
+
+	private GatewayFilter filter(double clientRate, int clientBurst) {
+		RateLimitGatewayFilterFactory.Config config = new RateLimitGatewayFilterFactory.Config();
+		config.setClientRate(clientRate);
+		config.setClientBurst(clientBurst);
+		config.setRouteId("user-service");
+		return new RateLimitGatewayFilterFactory(meterRegistry).apply(config);
+	}
+
+	private static MockServerWebExchange send(GatewayFilter filter, String clientAddress) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users")
+				.remoteAddress(new InetSocketAddress(clientAddress, 40000)));
+		filter.filter(exchange, e -> Mono.empty()).block();
+		return exchange;
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.get("gateway.ratelimit.requests").tag("outcome", outcome).counter().count();
+	}
+}
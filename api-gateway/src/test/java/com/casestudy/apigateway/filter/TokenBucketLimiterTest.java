@@ -0,0 +1,77 @@
+package com.casestudy.apigateway.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+	private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+	@Test
+	void grantsTheBurstThenRejects() {
+		TokenBucketLimiter limiter = limiter(10, 5);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire("client"));
+		}
+		assertTrue(limiter.tryAcquire("client") > 0);
+	}
+
+	@Test
+	void refillsAtTheConfiguredRate() {
+		TokenBucketLimiter limiter = limiter(10, 2);
+		limiter.tryAcquire("client");
+		limiter.tryAcquire("client");
+		assertTrue(limiter.tryAcquire("client") > 0);
+
+		advance(TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(0, limiter.tryAcquire("client"));
+		assertTrue(limiter.tryAcquire("client") > 0);
+	}
+
+	@Test
+	void neverRefillsBeyondTheBurst() {
+		TokenBucketLimiter limiter = limiter(10, 3);
+		advance(TimeUnit.HOURS.toNanos(1));
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire("client"));
+		}
+		assertTrue(limiter.tryAcquire("client") > 0);
+	}
+
+	@Test
+	void reportsTheWaitUntilTheNextToken() {
+		TokenBucketLimiter limiter = limiter(4, 1);
+		limiter.tryAcquire("client");
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(250), limiter.tryAcquire("client"));
+
+		advance(TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(150), limiter.tryAcquire("client"));
+	}
+
+	@Test
+	void keepsKeysApart() {
+		TokenBucketLimiter limiter = limiter(1, 1);
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a") > 0);
+		assertEquals(0, limiter.tryAcquire("b"));
+	}
+
+	@Test
+	void rejectsANonPositiveRate() {
+		assertThrows(IllegalArgumentException.class, () -> limiter(0, 1));
+	}
+
+	private TokenBucketLimiter limiter(double ratePerSecond, int burst) {
+		return new TokenBucketLimiter(ratePerSecond, burst, 1000, now::get);
+	}
+
+	private void advance(long nanos) {
+		now.addAndGet(nanos);
+	}
+}
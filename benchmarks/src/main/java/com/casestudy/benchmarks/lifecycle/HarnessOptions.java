@@ -0,0 +1,33 @@
+package com.casestudy.benchmarks.lifecycle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of {@link LifecycleLoadHarness}, given as {@code --name=value}.
+ */
+record HarnessOptions(int concurrency, int flows, int warmupFlows, long relayIntervalMs, Duration membershipTimeout,
+                      boolean virtualThreads) {
+
+    static HarnessOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        HarnessOptions options = new HarnessOptions(
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Integer.parseInt(values.getOrDefault("flows", "2000")),
+                Integer.parseInt(values.getOrDefault("warmup-flows", "200")),
+                Long.parseLong(values.getOrDefault("relay-interval-ms", "50")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("membership-timeout-ms", "30000"))),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")));
+        if (options.concurrency < 1 || options.flows < 1 || options.warmupFlows < 0) {
+            throw new IllegalArgumentException("concurrency and flows must be positive, warmup-flows not negative");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,61 @@
+package com.casestudy.benchmarks.lifecycle;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects per-step latencies of the lifecycle flows and prints throughput and percentiles.
+ */
+final class LatencyRecorder {
+
+    enum Step {
+        CREATE_USER, CREATE_ORGANIZATION, CREATE_INVITATION, ACCEPT_INVITATION, MEMBERSHIP_VISIBLE, FLOW
+    }
+
+    private final Map<Step, long[]> samples = new EnumMap<>(Step.class);
+    private final Map<Step, AtomicInteger> counts = new EnumMap<>(Step.class);
+    private final Map<Step, AtomicInteger> errors = new EnumMap<>(Step.class);
+
+    LatencyRecorder(int capacity) {
+        for (Step step : Step.values()) {
+            samples.put(step, new long[capacity]);
+            counts.put(step, new AtomicInteger());
+            errors.put(step, new AtomicInteger());
+        }
+    }
+
+    void record(Step step, long nanos) {
+        int index = counts.get(step).getAndIncrement();
+        samples.get(step)[index] = nanos;
+    }
+
+    void error(Step step) {
+        errors.get(step).incrementAndGet();
+    }
+
+    void print(long elapsedNanos, int concurrency) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%nConcurrency %d, %.1f s%n", concurrency, seconds);
+        System.out.printf("%-20s %8s %7s %10s %9s %9s %9s %9s%n",
+                "step", "count", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Step step : Step.values()) {
+            int count = counts.get(step).get();
+            long[] sorted = Arrays.copyOf(samples.get(step), count);
+            Arrays.sort(sorted);
+            System.out.printf("%-20s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    step, count, errors.get(step).get(), count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
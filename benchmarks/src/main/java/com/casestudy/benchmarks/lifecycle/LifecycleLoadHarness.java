@@ -0,0 +1,226 @@
+package com.casestudy.benchmarks.lifecycle;
+
+import com.casestudy.benchmarks.lifecycle.LatencyRecorder.Step;
+import com.casestudy.benchmarks.support.EmbeddedServices;
+import com.casestudy.benchmarks.support.EmbeddedServices.Service;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the invitation lifecycle end to end over HTTP against user-, organization- and invitation-service running
+ * in this JVM: create user, create organization, create invitation, accept it, and wait until the membership
+ * relayed by the outbox is visible in organization-service.
+ * <p>
+ * Run with {@code java -cp benchmarks/target/benchmarks.jar com.casestudy.benchmarks.lifecycle.LifecycleLoadHarness
+ * --concurrency=16 --flows=2000 --warmup-flows=200 --relay-interval-ms=50 --membership-timeout-ms=30000
+ * --virtual-threads=false}.
+ */
+public final class LifecycleLoadHarness {
+
+    private static final long MIN_POLL_INTERVAL_MS = 5;
+    private static final long MAX_POLL_INTERVAL_MS = 100;
+
+    private final HarnessOptions options;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+
+    private String userService;
+    private String organizationService;
+    private String invitationService;
+
+    private LifecycleLoadHarness(HarnessOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        HarnessOptions options = HarnessOptions.parse(args);
+        try (EmbeddedServices services = EmbeddedServices.start()) {
+            new LifecycleLoadHarness(options).run(services);
+        }
+    }
+
+    private void run(EmbeddedServices services) throws InterruptedException {
+        userService = baseUrl(services.run(Service.USER, web()));
+        organizationService = baseUrl(services.run(Service.ORGANIZATION, web()));
+        Map<String, Object> invitation = web();
+        invitation.put("spring.cloud.discovery.client.simple.instances.organization-service[0].uri", organizationService);
+        invitation.put("invitations.outbox.relay-interval-ms", options.relayIntervalMs());
+        invitationService = baseUrl(services.run(Service.INVITATION, invitation));
+
+        if (options.warmupFlows() > 0) {
+            System.out.printf("Warming up with %d flows%n", options.warmupFlows());
+            execute(options.warmupFlows(), new LatencyRecorder(options.warmupFlows()));
+        }
+
+        System.out.printf("Running %d flows%n", options.flows());
+        LatencyRecorder recorder = new LatencyRecorder(options.flows());
+        long elapsed = execute(options.flows(), recorder);
+        recorder.print(elapsed, options.concurrency());
+    }
+
+    private Map<String, Object> web() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.main.web-application-type", "servlet");
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", options.virtualThreads());
+        return properties;
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private long execute(int flows, LatencyRecorder recorder) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(options.concurrency());
+        long start = System.nanoTime();
+        for (int worker = 0; worker < options.concurrency(); worker++) {
+            executor.execute(() -> {
+                for (int i = next.getAndIncrement(); i < flows; i = next.getAndIncrement()) {
+                    flow(i, recorder);
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+            throw new IllegalStateException("Flows did not finish within an hour");
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void flow(int index, LatencyRecorder recorder) {
+        String key = runId + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase() + "-" + index;
+        long start = System.nanoTime();
+
+        JsonNode user = call(recorder, Step.CREATE_USER, post(userService + "/api/users", Map.of(
+                "email", "load-" + key.toLowerCase() + "@example.com",
+                "fullName", "Load User " + letters(index),
+                "role", "USER",
+                "status", "ACTIVE")));
+        if (user == null) {
+            return;
+        }
+        JsonNode organization = call(recorder, Step.CREATE_ORGANIZATION, post(organizationService + "/api/organizations", Map.of(
+                "registryNumber", "LOAD-" + key,
+                "organizationName", "Load Organization " + index,
+                "contactEmail", "load@example.com",
+                "companySize", 10,
+                "yearFounded", 2020)));
+        if (organization == null) {
+            return;
+        }
+        String userId = user.get("id").asText();
+        String organizationId = organization.get("id").asText();
+        JsonNode invitation = call(recorder, Step.CREATE_INVITATION, post(invitationService + "/api/invitations", Map.of(
+                "userId", userId,
+                "organizationId", organizationId,
+                "invitationMessage", "Load test invitation")));
+        if (invitation == null) {
+            return;
+        }
+        HttpRequest accept = HttpRequest.newBuilder(URI.create(invitationService + "/api/invitations/"
+                        + invitation.get("id").asText() + "/status?status=ACCEPTED"))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        if (call(recorder, Step.ACCEPT_INVITATION, accept) == null) {
+            return;
+        }
+        if (awaitMembership(recorder, organizationId, userId)) {
+            recorder.record(Step.FLOW, System.nanoTime() - start);
+        }
+    }
+
+    private boolean awaitMembership(LatencyRecorder recorder, String organizationId, String userId) {
+        HttpRequest members = HttpRequest.newBuilder(
+                URI.create(organizationService + "/api/organizations/" + organizationId + "/members")).GET().build();
+        long start = System.nanoTime();
+        long deadline = start + options.membershipTimeout().toNanos();
+        long pollIntervalMs = MIN_POLL_INTERVAL_MS;
+        try {
+            while (System.nanoTime() < deadline) {
+                HttpResponse<String> response = http.send(members, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains(userId)) {
+                    recorder.record(Step.MEMBERSHIP_VISIBLE, System.nanoTime() - start);
+                    return true;
+                }
+                Thread.sleep(pollIntervalMs);
+                pollIntervalMs = Math.min(pollIntervalMs * 2, MAX_POLL_INTERVAL_MS);
+            }
+        } catch (IOException e) {
+            // counted as an error below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        recorder.error(Step.MEMBERSHIP_VISIBLE);
+        return false;
+    }
+
+    private HttpRequest post(String url, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sends {@code request} and records its latency; returns the parsed body, or {@code null} after recording an
+     * error for a failed call.
+     */
+    private JsonNode call(LatencyRecorder recorder, Step step, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() / 100 != 2) {
+                recorder.error(step);
+                System.err.printf("%s failed with %d: %s%n", step, response.statusCode(), response.body());
+                return null;
+            }
+            recorder.record(step, elapsed);
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            recorder.error(step);
+            System.err.printf("%s failed: %s%n", step, e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.error(step);
+            return null;
+        }
+    }
+
+    /**
+     * Spells {@code index} with letters, since full names may not contain digits.
+     */
+    private static String letters(int index) {
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append((char) ('a' + index % 26));
+            index /= 26;
+        } while (index > 0);
+        return name.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.casestudy.benchmarks.normalization;
+
+import java.util.Locale;
+
+/**
+ * Verbatim copies of the entity callbacks replaced by {@code TextNormalizer}, kept as benchmark baselines.
+ */
+final class LegacyNormalizers {
+
+    private LegacyNormalizers() {
+    }
+
+    /** Former {@code User.normalizeName}. */
+    static String user(String fullName) {
+        return fullName
+                .trim()
+                .replace("ç", "c").replace("Ç", "C")
+                .replace("ğ", "g").replace("Ğ", "G")
+                .replace("ı", "i").replace("İ", "I")
+                .replace("ö", "o").replace("Ö", "O")
+                .replace("ş", "s").replace("Ş", "S")
+                .replace("ü", "u").replace("Ü", "U")
+                .toLowerCase(Locale.ENGLISH)
+                .replaceAll("[^a-z0-9]", "");
+    }
+
+    /** Former {@code Organization.normalizeOrganizationName}. */
+    static String organization(String organizationName) {
+        return organizationName
+                .toLowerCase()
+                .replaceAll("[^a-z0-9]", "");
+    }
+}
@@ -0,0 +1,85 @@
+package com.casestudy.benchmarks.normalization;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Deterministic name corpora shaped like the data the services store.
+ */
+public enum NameCorpus {
+
+    /** Turkish personal names, mostly with at least one non-ASCII letter. */
+    TURKISH_PERSONAL {
+        @Override
+        String next(Random random) {
+            String name = pick(random, TURKISH_FIRST_NAMES);
+            if (random.nextInt(4) == 0) {
+                name += " " + pick(random, TURKISH_FIRST_NAMES);
+            }
+            return name + " " + pick(random, TURKISH_LAST_NAMES);
+        }
+    },
+
+    /** Personal names from other Latin-script languages, a share of them plain ASCII. */
+    INTERNATIONAL_PERSONAL {
+        @Override
+        String next(Random random) {
+            return pick(random, INTERNATIONAL_FIRST_NAMES) + " " + pick(random, INTERNATIONAL_LAST_NAMES);
+        }
+    },
+
+    /** Organization names with legal suffixes, punctuation and occasional all-caps. */
+    ORGANIZATION {
+        @Override
+        String next(Random random) {
+            String name = pick(random, ORGANIZATION_WORDS) + " " + pick(random, ORGANIZATION_WORDS)
+                    + " " + pick(random, ORGANIZATION_SUFFIXES);
+            return random.nextInt(5) == 0 ? name.toUpperCase(Locale.ROOT) : name;
+        }
+    };
+
+    private static final String[] TURKISH_FIRST_NAMES = {
+            "Ahmet", "Mehmet", "Ayşe", "Fatma", "Çağrı", "Gülşen", "Şükrü", "Özlem", "İbrahim", "Ümit",
+            "Ilgın", "Doğan", "Büşra", "Emre", "Zeynep", "Mustafa", "Gökçe", "Irmak", "Barış", "Selin"
+    };
+
+    private static final String[] TURKISH_LAST_NAMES = {
+            "Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Öztürk", "Aydın", "Özdemir", "Arslan",
+            "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt", "Özkan", "Şimşek", "Güneş"
+    };
+
+    private static final String[] INTERNATIONAL_FIRST_NAMES = {
+            "John", "Emily", "François", "Zoë", "Jürgen", "Søren", "José", "Łukasz", "Ángel", "Chloé",
+            "Michael", "Sarah", "Håkon", "Inès", "Dvořák", "Renée", "Björn", "Ana", "Nuño", "Ætla"
+    };
+
+    private static final String[] INTERNATIONAL_LAST_NAMES = {
+            "Smith", "O'Brien", "Müller", "García", "Núñez", "Lefèvre", "Kowalczyk", "Straße", "Nørgaard",
+            "van der Berg", "Novák", "Johnson", "Dupont-Moreau", "Żółkiewski", "Brown", "Öberg"
+    };
+
+    private static final String[] ORGANIZATION_WORDS = {
+            "Digitopia", "Anadolu", "Ege", "Boğaziçi", "Yazılım", "Teknoloji", "Global", "Bilişim", "Danışmanlık",
+            "Solutions", "Data", "Çözüm", "Enerji", "Lojistik", "Sağlık", "Finans", "Systems", "Cloud", "Mühendislik"
+    };
+
+    private static final String[] ORGANIZATION_SUFFIXES = {
+            "A.Ş.", "Ltd. Şti.", "Inc.", "LLC", "GmbH", "Holding", "& Co.", "(Türkiye)", "Group", "Ltd."
+    };
+
+    abstract String next(Random random);
+
+    /** A fixed sample of {@code size} names, identical across runs. */
+    public String[] sample(int size) {
+        Random random = new Random(42L + ordinal());
+        String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = next(random);
+        }
+        return names;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
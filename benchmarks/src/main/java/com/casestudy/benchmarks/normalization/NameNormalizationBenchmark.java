@@ -0,0 +1,92 @@
+package com.casestudy.benchmarks.normalization;
+
+import com.casestudy.common.text.TextNormalizer;
+import com.casestudy.organizationservice.entity.Organization;
+import com.casestudy.userservice.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the shared {@link TextNormalizer} with the per-entity implementations it replaced, and measures the
+ * entity callbacks that run it on every persist and update.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar NameNormalization -prof gc} to also see
+ * allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@OperationsPerInvocation(NameNormalizationBenchmark.CORPUS_SIZE)
+public class NameNormalizationBenchmark {
+
+    static final int CORPUS_SIZE = 1024;
+
+    @Param
+    private NameCorpus corpus;
+
+    private String[] names;
+
+    private final User user = new User();
+
+    private final Organization organization = new Organization();
+
+    @Setup
+    public void setUp() {
+        names = corpus.sample(CORPUS_SIZE);
+    }
+
+    @Benchmark
+    public void legacyUser(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyNormalizers.user(name));
+        }
+    }
+
+    @Benchmark
+    public void legacyOrganization(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(LegacyNormalizers.organization(name));
+        }
+    }
+
+    @Benchmark
+    public void textNormalizer(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(TextNormalizer.normalize(name));
+        }
+    }
+
+    @Benchmark
+    public void userNormalizeName(Blackhole blackhole) {
+        for (String name : names) {
+            user.setFullName(name);
+            user.normalizeName();
+            blackhole.consume(user.getNormalizedName());
+        }
+    }
+
+    @Benchmark
+    public void organizationNormalizeOrganizationName(Blackhole blackhole) {
+        for (String name : names) {
+            organization.setOrganizationName(name);
+            organization.normalizeOrganizationName();
+            blackhole.consume(organization.getNormalizedOrganizationName());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.casestudy.benchmarks.repository;
+
+import com.casestudy.benchmarks.support.EmbeddedServices;
+import com.casestudy.userservice.entity.User;
+import com.casestudy.userservice.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code saveAll} of {@value #USERS_PER_OP} new users in one transaction, with Hibernate statement batching off
+ * ({@code batchSize = 1}, the former default) and at the configured {@code hibernate.jdbc.batch_size}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntityBatchInsertBenchmark {
+
+    private static final int USERS_PER_OP = 500;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private EmbeddedServices services;
+
+    private UserRepository repository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private long sequence;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = EmbeddedServices.start();
+        ConfigurableApplicationContext context = services.run(EmbeddedServices.Service.USER, Map.of(
+                "spring.jpa.properties.hibernate.jdbc.batch_size", String.valueOf(batchSize)));
+        repository = context.getBean(UserRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        services.close();
+    }
+
+    @Benchmark
+    public List<User> saveAll() {
+        List<User> users = new ArrayList<>(USERS_PER_OP);
+        for (int i = 0; i < USERS_PER_OP; i++) {
+            User user = new User();
+            user.setEmail("user" + sequence++ + "@example.com");
+            user.setFullName("Benchmark User");
+            users.add(user);
+        }
+        return transactionTemplate.execute(status -> repository.saveAll(users));
+    }
+}
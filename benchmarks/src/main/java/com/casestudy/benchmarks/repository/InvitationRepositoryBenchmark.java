@@ -0,0 +1,153 @@
+package com.casestudy.benchmarks.repository;
+
+import com.casestudy.benchmarks.support.EmbeddedServices;
+import com.casestudy.invitationservice.dto.CursorPage;
+import com.casestudy.invitationservice.dto.ExpirationSummary;
+import com.casestudy.invitationservice.dto.PageCursor;
+import com.casestudy.invitationservice.entity.Invitation;
+import com.casestudy.invitationservice.enums.InvitationStatus;
+import com.casestudy.invitationservice.repository.InvitationRepository;
+import com.casestudy.invitationservice.service.InvitationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InvitationRepository#findByStatus}, the chunked {@link InvitationService#expireOld} loop and change polling
+ * against an embedded PostgreSQL. Invitations are spread evenly over the four statuses; {@code expirable} extra rows
+ * are turned back into overdue {@code PENDING} invitations before every {@code expireOld} call.
+ * <p>
+ * Rows were last changed one second apart. {@code changesSinceCursor} reads the last {@value #RECENT_CHANGES} changes
+ * from the change feed; {@code changesByFullListing} finds them the way sync clients did before, by reading every
+ * page of {@code getAll}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvitationRepositoryBenchmark {
+
+    private static final String EXPIRABLE_MESSAGE = "benchmark-expirable";
+    private static final int RECENT_CHANGES = 100;
+
+    @Param("10000")
+    private int invitations;
+
+    @Param("5000")
+    private int expirable;
+
+    private EmbeddedServices services;
+
+    private InvitationRepository repository;
+
+    private InvitationService service;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private String recentChangesCursor;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = EmbeddedServices.start();
+        ConfigurableApplicationContext context = services.run(EmbeddedServices.Service.INVITATION,
+                Map.of("invitations.outbox.relay-interval-ms", "3600000", "invitations.changes.settle-ms", "0"));
+        repository = context.getBean(InvitationRepository.class);
+        service = context.getBean(InvitationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        InvitationStatus[] statuses = InvitationStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime changedAt = now.minusSeconds(invitations + expirable);
+        List<Object[]> rows = new ArrayList<>(invitations + expirable);
+        for (int i = 0; i < invitations; i++) {
+            changedAt = changedAt.plusSeconds(1);
+            rows.add(row(statuses[i % statuses.length], "You are invited to join our amazing team!", now.plusDays(7), now,
+                    changedAt));
+        }
+        for (int i = 0; i < expirable; i++) {
+            changedAt = changedAt.plusSeconds(1);
+            rows.add(row(InvitationStatus.EXPIRED, EXPIRABLE_MESSAGE, now.minusDays(1), now, changedAt));
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO invitations (id, user_id, organization_id, invitation_message, status, expiration_date,
+                                         created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+        jdbcTemplate.execute("ANALYZE invitations");
+
+        recentChangesCursor = jdbcTemplate.queryForObject(
+                "SELECT updated_at, id FROM invitations ORDER BY updated_at DESC, id DESC OFFSET ? LIMIT 1",
+                (rs, rowNum) -> new PageCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getObject(2, UUID.class)),
+                RECENT_CHANGES).encode();
+    }
+
+    @Setup(Level.Invocation)
+    public void makeExpirableOverdue(BenchmarkParams params) {
+        if (params.getBenchmark().endsWith("expireOld")) {
+            jdbcTemplate.update("UPDATE invitations SET status = 'PENDING' WHERE invitation_message = ?", EXPIRABLE_MESSAGE);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        services.close();
+    }
+
+    @Benchmark
+    public List<Invitation> findByStatus() {
+        return repository.findByStatus(InvitationStatus.PENDING);
+    }
+
+    @Benchmark
+    public ExpirationSummary expireOld() {
+        return service.expireOld();
+    }
+
+    @Benchmark
+    public CursorPage<Invitation> changesSinceCursor() {
+        return service.getChanges(recentChangesCursor, 1000);
+    }
+
+    @Benchmark
+    public int changesByFullListing() {
+        int read = 0;
+        String cursor = null;
+        do {
+            CursorPage<Invitation> page = service.getAll(cursor, 100, Sort.Direction.DESC);
+            read += page.items().size();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return read;
+    }
+
+    private static Object[] row(InvitationStatus status, String message, LocalDateTime expiration, LocalDateTime now,
+                                LocalDateTime changedAt) {
+        return new Object[]{UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), message, status.name(),
+                Timestamp.valueOf(expiration), Timestamp.valueOf(now), Timestamp.valueOf(changedAt)};
+    }
+}
@@ -0,0 +1,88 @@
+package com.casestudy.benchmarks.repository;
+
+import com.casestudy.benchmarks.support.EmbeddedServices;
+import com.casestudy.organizationservice.entity.Organization;
+import com.casestudy.organizationservice.service.OrganizationMemberService;
+import com.casestudy.organizationservice.service.OrganizationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link OrganizationMemberService#addMember} against an embedded PostgreSQL from one thread and from
+ * sixteen, each thread adding to an organization of its own. Seat reservation locks only the organization's row,
+ * so the sixteen-thread score should be a multiple of the single-thread one on a machine with the cores for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrganizationMemberAddBenchmark {
+
+    private EmbeddedServices services;
+
+    private OrganizationService organizationService;
+
+    private OrganizationMemberService memberService;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = EmbeddedServices.start();
+        ConfigurableApplicationContext context = services.run(EmbeddedServices.Service.ORGANIZATION,
+                Map.of("spring.datasource.hikari.maximum-pool-size", "20"));
+        organizationService = context.getBean(OrganizationService.class);
+        memberService = context.getBean(OrganizationMemberService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        services.close();
+    }
+
+    @State(Scope.Thread)
+    public static class OwnOrganization {
+
+        private UUID organizationId;
+
+        @Setup(Level.Iteration)
+        public void create(OrganizationMemberAddBenchmark benchmark) {
+            Organization organization = new Organization();
+            organization.setOrganizationName("Benchmark Organization");
+            organization.setRegistryNumber("BENCH-" + UUID.randomUUID().toString().toUpperCase());
+            organization.setContactEmail("contact@example.com");
+            organization.setCompanySize(Integer.MAX_VALUE);
+            organization.setYearFounded(2000);
+            organizationId = benchmark.organizationService.create(organization).getId();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void addMemberOneThread(OwnOrganization own) {
+        memberService.addMember(own.organizationId, UUID.randomUUID());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void addMemberSixteenThreads(OwnOrganization own) {
+        memberService.addMember(own.organizationId, UUID.randomUUID());
+    }
+}
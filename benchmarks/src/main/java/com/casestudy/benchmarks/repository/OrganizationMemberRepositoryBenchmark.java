@@ -0,0 +1,139 @@
+package com.casestudy.benchmarks.repository;
+
+import com.casestudy.benchmarks.support.EmbeddedServices;
+import com.casestudy.organizationservice.dto.MemberSummary;
+import com.casestudy.organizationservice.entity.Organization;
+import com.casestudy.organizationservice.entity.OrganizationMember;
+import com.casestudy.organizationservice.repository.OrganizationMemberRepository;
+import com.casestudy.organizationservice.repository.OrganizationRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membership reads against an embedded PostgreSQL: counting, listing user IDs as entities (the former
+ * implementation) versus as a projection, one roster page, and organizations by user as one join.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrganizationMemberRepositoryBenchmark {
+
+    private static final int ORGANIZATIONS = 100;
+    private static final int ROSTER_PAGE_SIZE = 100;
+
+    @Param({"10", "1000", "20000"})
+    private int membersPerOrganization;
+
+    private EmbeddedServices services;
+
+    private OrganizationMemberRepository memberRepository;
+
+    private OrganizationRepository organizationRepository;
+
+    private TransactionTemplate readOnly;
+
+    private EntityManager entityManager;
+
+    private final List<UUID> organizationIds = new ArrayList<>();
+
+    private final List<UUID> sampleUserIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws IOException {
+        services = EmbeddedServices.start();
+        ConfigurableApplicationContext context = services.run(EmbeddedServices.Service.ORGANIZATION);
+        organizationRepository = context.getBean(OrganizationRepository.class);
+        memberRepository = context.getBean(OrganizationMemberRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        for (int i = 0; i < ORGANIZATIONS; i++) {
+            Organization organization = new Organization();
+            organization.setRegistryNumber("REG" + i);
+            organization.setOrganizationName("Benchmark Organization " + i);
+            organization.setContactEmail("contact" + i + "@example.com");
+            organization.setCompanySize(membersPerOrganization);
+            organization.setYearFounded(2000);
+            UUID id = organizationRepository.save(organization).getId();
+            organizationIds.add(id);
+
+            List<UUID> userIds = new ArrayList<>(membersPerOrganization);
+            for (int m = 0; m < membersPerOrganization; m++) {
+                userIds.add(UUID.randomUUID());
+            }
+            memberRepository.insertMembers(id, userIds);
+            sampleUserIds.add(userIds.get(0));
+        }
+        context.getBean(JdbcTemplate.class).execute("ANALYZE");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        services.close();
+    }
+
+    @Benchmark
+    public long countByOrganizationId() {
+        return memberRepository.countByOrganizationId(randomOrganization());
+    }
+
+    @Benchmark
+    public List<UUID> listUserIdsAsEntities() {
+        UUID organizationId = randomOrganization();
+        return readOnly.execute(status -> entityManager
+                .createQuery("SELECT m FROM OrganizationMember m WHERE m.organizationId = :orgId", OrganizationMember.class)
+                .setParameter("orgId", organizationId)
+                .getResultStream()
+                .map(OrganizationMember::getUserId)
+                .toList());
+    }
+
+    @Benchmark
+    public List<UUID> listUserIdsAsProjection() {
+        UUID organizationId = randomOrganization();
+        return readOnly.execute(status -> memberRepository.findUserIdsByOrganizationId(organizationId));
+    }
+
+    @Benchmark
+    public List<MemberSummary> rosterPage() {
+        UUID organizationId = randomOrganization();
+        return readOnly.execute(status -> memberRepository.findRoster(organizationId, Limit.of(ROSTER_PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public List<Organization> organizationsByUser() {
+        UUID userId = sampleUserIds.get(ThreadLocalRandom.current().nextInt(sampleUserIds.size()));
+        return readOnly.execute(status -> organizationRepository.findByMemberUserId(userId));
+    }
+
+    private UUID randomOrganization() {
+        return organizationIds.get(ThreadLocalRandom.current().nextInt(ORGANIZATIONS));
+    }
+}
@@ -0,0 +1,121 @@
+package com.casestudy.benchmarks.repository;
+
+import com.casestudy.benchmarks.support.EmbeddedServices;
+import com.casestudy.common.id.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Batched inserts of {@value #ROWS_PER_OP} rows into a table keyed by random version 4 UUIDs (the former
+ * {@code GenerationType.UUID}) or by {@link TimeOrderedUuid}, after preloading {@code existingRows} rows with the
+ * same kind of key. Random keys land on random leaves of the primary key index; time-ordered keys all land on the
+ * rightmost one. The primary key index size is printed on tear-down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class PrimaryKeyInsertBenchmark {
+
+    private static final int ROWS_PER_OP = 1000;
+    private static final int JDBC_BATCH_SIZE = 500;
+    private static final int PRELOAD_BATCH = 1_000_000;
+
+    public enum Keys {
+        RANDOM(UUID::randomUUID),
+        TIME_ORDERED(TimeOrderedUuid::next);
+
+        private final Supplier<UUID> generator;
+
+        Keys(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private Keys keys;
+
+    @Param({"100000", "5000000"})
+    private int existingRows;
+
+    private EmbeddedServices services;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = EmbeddedServices.start();
+        jdbcTemplate = services.run(EmbeddedServices.Service.USER).getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("""
+                CREATE TABLE key_benchmark (
+                    id uuid PRIMARY KEY,
+                    email varchar(255) NOT NULL,
+                    created_at timestamp NOT NULL
+                )
+                """);
+
+        // Version 7 keys are built in SQL one millisecond apart, ending now, so the benchmark's keys follow them
+        String key = keys == Keys.RANDOM
+                ? "gen_random_uuid()"
+                : """
+                (lpad(to_hex((extract(epoch FROM now()) * 1000)::bigint - ? + i), 12, '0') || '7'
+                    || lpad(to_hex(i % 4096), 3, '0') || to_hex(8 + (random() * 3)::int)
+                    || substr(md5(random()::text), 1, 15))::uuid
+                """;
+        for (int from = 0; from < existingRows; from += PRELOAD_BATCH) {
+            String sql = "INSERT INTO key_benchmark SELECT " + key + ", 'user' || i || '@example.com', now() "
+                    + "FROM generate_series(?, ?) AS i";
+            int to = Math.min(existingRows, from + PRELOAD_BATCH) - 1;
+            if (keys == Keys.RANDOM) {
+                jdbcTemplate.update(sql, from, to);
+            } else {
+                jdbcTemplate.update(sql, existingRows, from, to);
+            }
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE key_benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Long indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('key_benchmark_pkey')", Long.class);
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM key_benchmark", Long.class);
+        System.out.printf("%n%s keys: %d rows, primary key index %d MiB%n", keys, rows, indexBytes / (1024 * 1024));
+        services.close();
+    }
+
+    @Benchmark
+    public int[][] insertBatch() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<UUID> ids = new ArrayList<>(ROWS_PER_OP);
+        for (int i = 0; i < ROWS_PER_OP; i++) {
+            ids.add(keys.generator.get());
+        }
+        return jdbcTemplate.batchUpdate("INSERT INTO key_benchmark (id, email, created_at) VALUES (?, ?, ?)",
+                ids, JDBC_BATCH_SIZE, (ps, id) -> {
+                    ps.setObject(1, id);
+                    ps.setString(2, id + "@example.com");
+                    ps.setTimestamp(3, now);
+                });
+    }
+}
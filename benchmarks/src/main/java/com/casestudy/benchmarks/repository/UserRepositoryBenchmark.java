@@ -0,0 +1,121 @@
+package com.casestudy.benchmarks.repository;
+
+import com.casestudy.benchmarks.support.EmbeddedServices;
+import com.casestudy.userservice.entity.User;
+import com.casestudy.userservice.repository.UserRepository;
+import com.casestudy.userservice.service.RegisteredEmailFilter;
+import com.casestudy.userservice.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email checks made on user creation, against an embedded PostgreSQL holding {@code users} users.
+ * <p>
+ * {@code legacyUpperEmail*} is the {@code upper(email) = upper(?)} query that {@code existsByEmailIgnoreCase} generated
+ * before {@code normalized_email}; {@code createCheckMiss} is {@link UserService#create}'s check, which only queries
+ * when {@link RegisteredEmailFilter} cannot rule the email out. Rows are generated in SQL without the name search
+ * indexes, which nothing here uses; the 10M setup still takes about 20 minutes on a single core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class UserRepositoryBenchmark {
+
+    private static final int INSERT_BATCH = 1_000_000;
+
+    @Param({"10000", "10000000"})
+    private int users;
+
+    private EmbeddedServices services;
+
+    private UserRepository repository;
+    private RegisteredEmailFilter filter;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        services = EmbeddedServices.start();
+        try (ConfigurableApplicationContext schema = services.run(EmbeddedServices.Service.USER)) {
+            JdbcTemplate jdbc = schema.getBean(JdbcTemplate.class);
+            jdbc.execute("DROP INDEX idx_user_normalized_name_prefix, idx_user_normalized_name_trgm");
+            for (int from = 0; from < users; from += INSERT_BATCH) {
+                jdbc.update("""
+                        INSERT INTO users (id, email, normalized_email, full_name, normalized_name, role, status,
+                                           created_at, updated_at)
+                        SELECT gen_random_uuid(), 'user' || i || '@example.com', 'user' || i || '@example.com',
+                               'Benchmark User', 'benchmark user', 'USER', 'ACTIVE', now(), now()
+                        FROM generate_series(?, ?) AS i
+                        """, from, Math.min(users, from + INSERT_BATCH) - 1);
+            }
+            jdbc.execute("VACUUM ANALYZE users");
+        }
+
+        ConfigurableApplicationContext context = services.run(EmbeddedServices.Service.USER, Map.of(
+                "spring.sql.init.mode", "never",
+                "users.email-filter.enabled", "true",
+                "users.email-filter.expected-emails", String.valueOf(users)));
+        repository = context.getBean(UserRepository.class);
+        filter = context.getBean(RegisteredEmailFilter.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        while (!filter.isLoaded()) {
+            Thread.sleep(100);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        services.close();
+    }
+
+    @Benchmark
+    public boolean existsByNormalizedEmailHit() {
+        String email = email(ThreadLocalRandom.current().nextInt(users)).toUpperCase(Locale.ROOT);
+        return repository.existsByNormalizedEmail(User.normalizeEmail(email));
+    }
+
+    @Benchmark
+    public boolean existsByNormalizedEmailMiss() {
+        return repository.existsByNormalizedEmail(missingEmail());
+    }
+
+    @Benchmark
+    public boolean createCheckMiss() {
+        String email = missingEmail();
+        return filter.mightBeTaken(email) && repository.existsByNormalizedEmail(email);
+    }
+
+    @Benchmark
+    public Boolean legacyUpperEmailMiss() {
+        return jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM users WHERE upper(email) = upper(?))",
+                Boolean.class, missingEmail());
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@example.com";
+    }
+
+    private static String missingEmail() {
+        return "missing" + ThreadLocalRandom.current().nextInt() + "@example.com";
+    }
+}
@@ -0,0 +1,123 @@
+package com.casestudy.benchmarks.serialization;
+
+import com.casestudy.invitationservice.entity.Invitation;
+import com.casestudy.organizationservice.entity.Organization;
+import com.casestudy.userservice.entity.User;
+import com.casestudy.userservice.enums.UserRole;
+import com.casestudy.userservice.enums.UserStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Jackson serialization of the list responses returned by the {@code GET} collection endpoints, using the same
+ * defaults Spring Boot applies to its {@link ObjectMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ListResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private com.casestudy.userservice.dto.CursorPage<User> users;
+
+    private com.casestudy.organizationservice.dto.CursorPage<Organization> organizations;
+
+    private com.casestudy.invitationservice.dto.CursorPage<Invitation> invitations;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+        users = new com.casestudy.userservice.dto.CursorPage<>(list(i -> {
+            User user = new User();
+            user.setId(new UUID(random.nextLong(), random.nextLong()));
+            user.setEmail("user" + i + "@example.com");
+            user.setFullName("Çağrı Yılmaz " + (char) ('A' + i % 26));
+            user.normalizeName();
+            user.setRole(UserRole.USER);
+            user.setStatus(UserStatus.ACTIVE);
+            user.setCreatedAt(now.plusMinutes(i));
+            user.setUpdatedAt(now.plusMinutes(i));
+            user.setCreatedBy(new UUID(random.nextLong(), random.nextLong()));
+            return user;
+        }), "MjAyNC0wMS0wMVQxMDowMDowMHx1dWlk", true);
+
+        organizations = new com.casestudy.organizationservice.dto.CursorPage<>(list(i -> {
+            Organization organization = new Organization();
+            organization.setId(new UUID(random.nextLong(), random.nextLong()));
+            organization.setRegistryNumber("REG" + (100000 + i));
+            organization.setOrganizationName("Digitopia Yazılım " + i);
+            organization.normalizeOrganizationName();
+            organization.setContactEmail("contact" + i + "@example.com");
+            organization.setCompanySize(50);
+            organization.setYearFounded(2000 + i % 25);
+            organization.setCreatedAt(now.plusMinutes(i));
+            organization.setUpdatedAt(now.plusMinutes(i));
+            return organization;
+        }), "MjAyNC0wMS0wMVQxMDowMDowMHx1dWlk", true);
+
+        invitations = new com.casestudy.invitationservice.dto.CursorPage<>(list(i -> {
+            Invitation invitation = new Invitation();
+            invitation.setId(new UUID(random.nextLong(), random.nextLong()));
+            invitation.setUserId(new UUID(random.nextLong(), random.nextLong()));
+            invitation.setOrganizationId(new UUID(random.nextLong(), random.nextLong()));
+            invitation.setInvitationMessage("You are invited to join our amazing team! #" + i);
+            invitation.setExpirationDate(now.plusDays(7));
+            invitation.setCreatedAt(now.plusMinutes(i));
+            invitation.setUpdatedAt(now.plusMinutes(i));
+            return invitation;
+        }), "MjAyNC0wMS0wMVQxMDowMDowMHx1dWlk", true);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] organizations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(organizations);
+    }
+
+    @Benchmark
+    public byte[] invitations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(invitations);
+    }
+
+    private <T> List<T> list(IntFunction<T> factory) {
+        List<T> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            items.add(factory.apply(i));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,136 @@
+package com.casestudy.benchmarks.support;
+
+import com.casestudy.invitationservice.InvitationServiceApplication;
+import com.casestudy.organizationservice.OrganizationServiceApplication;
+import com.casestudy.userservice.UserServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots service application contexts in this JVM, each against its own database in one embedded PostgreSQL.
+ * <p>
+ * The services' {@code application.properties} all share one name on the classpath, so none of them is loaded;
+ * each context gets the settings it needs from {@link Service} instead.
+ */
+public final class EmbeddedServices implements AutoCloseable {
+
+    public enum Service {
+
+        USER(UserServiceApplication.class, "user-service", "user_db", "&reWriteBatchedInserts=true", Map.of(
+                "spring.sql.init.mode", "always",
+                "spring.sql.init.schema-locations", "classpath:db/user-search.sql",
+                "spring.jpa.defer-datasource-initialization", "true",
+                "spring.datasource.hikari.connection-init-sql", "SET pg_trgm.word_similarity_threshold = 0.5")),
+
+        ORGANIZATION(OrganizationServiceApplication.class, "organization-service", "organization_db",
+                "&reWriteBatchedInserts=true", Map.of(
+                "spring.sql.init.mode", "always",
+                "spring.sql.init.schema-locations", "classpath:db/organization-search.sql",
+                "spring.jpa.defer-datasource-initialization", "true",
+                "spring.datasource.hikari.connection-init-sql", "SET pg_trgm.word_similarity_threshold = 0.5",
+                "spring.cache.cache-names", "organizations,organizationCapacity",
+                "spring.cache.caffeine.spec", "maximumSize=10000,expireAfterWrite=5m,recordStats")),
+
+        INVITATION(InvitationServiceApplication.class, "invitation-service", "invitation_db",
+                "&reWriteBatchedInserts=true", Map.of(
+                "services.organization.base-url", "http://organization-service"));
+
+        private final Class<?> application;
+        private final String name;
+        private final String database;
+        private final String urlParameters;
+        private final Map<String, String> properties;
+
+        Service(Class<?> application, String name, String database, String urlParameters,
+                Map<String, String> properties) {
+            this.application = application;
+            this.name = name;
+            this.database = database;
+            this.urlParameters = urlParameters;
+            this.properties = properties;
+        }
+    }
+
+    private final EmbeddedPostgres postgres;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    private EmbeddedServices(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    public static EmbeddedServices start() throws IOException {
+        return new EmbeddedServices(EmbeddedPostgres.start());
+    }
+
+    /**
+     * Starts {@code service} without a web server.
+     */
+    public ConfigurableApplicationContext run(Service service) {
+        return run(service, Map.of());
+    }
+
+    /**
+     * Starts {@code service}; {@code overrides} win over the defaults, e.g. {@code spring.main.web-application-type}
+     * and {@code server.port} to serve HTTP.
+     */
+    public ConfigurableApplicationContext run(Service service, Map<String, Object> overrides) {
+        createDatabase(service.database);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.config.location", "optional:classpath:/embedded-services/");
+        properties.put("spring.application.name", service.name);
+        properties.put("spring.main.web-application-type", "none");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.datasource.password", "postgres");
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", "50");
+        properties.put("spring.jpa.properties.hibernate.order_inserts", "true");
+        properties.put("spring.jpa.properties.hibernate.order_updates", "true");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("spring.cloud.compatibility-verifier.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper", "ERROR");
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", service.database) + service.urlParameters);
+        properties.putAll(service.properties);
+        properties.putAll(overrides);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(service.application)
+                .properties(properties)
+                .run();
+        contexts.add(context);
+        return context;
+    }
+
+    private void createDatabase(String database) {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            if (!statement.executeQuery("SELECT 1 FROM pg_database WHERE datname = '" + database + "'").next()) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + database, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+        postgres.close();
+    }
+}
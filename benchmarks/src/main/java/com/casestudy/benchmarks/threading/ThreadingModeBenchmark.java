@@ -0,0 +1,179 @@
+package com.casestudy.benchmarks.threading;
+
+import com.casestudy.invitationservice.config.RestClientConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request throughput of a blocking Spring MVC endpoint whose work is one call to a slow downstream, on Tomcat's
+ * platform-thread pool and on virtual threads ({@code spring.threads.virtual.enabled}). The outbound call goes
+ * through invitation-service's {@link RestClientConfig}, its connection pool sized to {@code concurrency}; the
+ * downstream answers after {@code latencyMs} from a timer, so it does not limit concurrency itself.
+ * {@code virtual} needs a Java 21 runtime.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int REQUESTS = 2000;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param("20")
+    private int latencyMs;
+
+    @Param({"100", "1000"})
+    private int concurrency;
+
+    private HttpServer downstream;
+    private ScheduledExecutorService downstreamScheduler;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Setup
+    public void setUp() throws IOException {
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        downstreamScheduler = Executors.newSingleThreadScheduledExecutor();
+        downstream = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+        downstream.createContext("/", exchange -> downstreamScheduler.schedule(() -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+            return null;
+        }, latencyMs, TimeUnit.MILLISECONDS));
+        downstream.start();
+
+        context = new SpringApplicationBuilder(DownstreamProxy.class)
+                .properties(Map.of(
+                        "spring.config.location", "optional:classpath:/embedded-services/",
+                        "spring.main.banner-mode", "off",
+                        "logging.level.root", "WARN",
+                        "server.port", 0,
+                        "spring.threads.virtual.enabled", virtual,
+                        "services.http.max-connections", concurrency,
+                        "services.http.max-connections-per-route", concurrency,
+                        "downstream.url", "http://localhost:" + downstream.getAddress().getPort() + "/"))
+                .run();
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newCachedThreadPool())
+                .build();
+        request = HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/proxy")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        downstream.stop(0);
+        downstreamScheduler.shutdownNow();
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " requests failed");
+        }
+    }
+
+    /**
+     * Sends {@value #REQUESTS} requests with at most {@code concurrency} in flight.
+     */
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void requests() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (error != null || response.statusCode() != 200) {
+                    failures.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class
+    })
+    @Import({RestClientConfig.class, DownstreamProxy.ProxyController.class})
+    static class DownstreamProxy {
+
+        @RestController
+        static class ProxyController {
+
+            private final RestClient restClient;
+            private final String downstreamUrl;
+
+            ProxyController(RestClient.Builder restClientBuilder, @Value("${downstream.url}") String downstreamUrl) {
+                this.restClient = restClientBuilder.build();
+                this.downstreamUrl = downstreamUrl;
+            }
+
+            @GetMapping("/proxy")
+            String proxy() {
+                return restClient.get().uri(downstreamUrl).retrieve().body(String.class);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.casestudy.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidTest {
+
+	@Test
+	void setsVersionAndVariant() {
+		UUID uuid = TimeOrderedUuid.next();
+		assertEquals(7, uuid.version());
+		assertEquals(2, uuid.variant());
+	}
+
+	@Test
+	void encodesTheCurrentTime() {
+		long before = System.currentTimeMillis();
+		UUID uuid = TimeOrderedUuid.next();
+		long after = System.currentTimeMillis();
+		long timestamp = TimeOrderedUuid.timestampOf(uuid);
+		assertTrue(timestamp >= before && timestamp <= after + 1, () -> timestamp + " outside " + before + ".." + after);
+	}
+
+	@Test
+	void strictlyIncreasesInStringAndNumericOrder() {
+		UUID previous = TimeOrderedUuid.next();
+		for (int i = 0; i < 100_000; i++) {
+			UUID next = TimeOrderedUuid.next();
+			assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+			assertTrue(next.toString().compareTo(previous.toString()) > 0);
+			previous = next;
+		}
+	}
+
+	@Test
+	void rejectsOtherVersions() {
+		assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuid.timestampOf(UUID.randomUUID()));
+	}
+}
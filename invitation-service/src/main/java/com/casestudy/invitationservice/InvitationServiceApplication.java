@@ -1,9 +1,14 @@
 package com.casestudy.invitationservice;
 
+import com.casestudy.common.datasource.ReadReplicaConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import(ReadReplicaConfiguration.class)
+@EnableScheduling
 public class InvitationServiceApplication {
 
 	public static void main(String[] args) {
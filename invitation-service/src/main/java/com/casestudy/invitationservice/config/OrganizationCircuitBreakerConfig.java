@@ -0,0 +1,38 @@
+package com.casestudy.invitationservice.config;
+
+import com.casestudy.invitationservice.service.OrganizationServiceClient;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker settings for calls to organization-service. Rejections by the target (4xx) are answers, not
+ * failures, and do not count towards opening the breaker.
+ */
+@Configuration
+public class OrganizationCircuitBreakerConfig {
+
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> organizationServiceCircuitBreaker(
+            @Value("${services.organization.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${services.organization.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${services.organization.circuit-breaker.slow-call-ms:1500}") long slowCallMs,
+            @Value("${services.organization.circuit-breaker.open-ms:10000}") long openMs) {
+        return factory -> factory.configure(builder -> builder.circuitBreakerConfig(
+                CircuitBreakerConfig.custom()
+                        .slidingWindow(windowSize, Math.max(1, windowSize / 2), SlidingWindowType.COUNT_BASED)
+                        .failureRateThreshold(failureRateThreshold)
+                        .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+                        .slowCallRateThreshold(failureRateThreshold)
+                        .waitDurationInOpenState(Duration.ofMillis(openMs))
+                        .ignoreExceptions(HttpClientErrorException.class)
+                        .build()), OrganizationServiceClient.CIRCUIT_BREAKER);
+    }
+}
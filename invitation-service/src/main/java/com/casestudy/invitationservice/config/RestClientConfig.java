@@ -1,14 +1,104 @@
 package com.casestudy.invitationservice.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shared client for calls to other services: one keep-alive connection pool, and a {@link RestClient.Builder}
+ * that resolves service names through the discovery client and records {@code http.client.requests}.
+ * Each target clones the builder and sets its own base URL and timeouts.
+ * <p>
+ * Apache HttpClient's classic API does its I/O on the calling thread, and the circuit breaker runs calls without a
+ * thread pool of its own. With {@code spring.threads.virtual.enabled=true} the callers (requests and the outbox relay)
+ * are virtual threads, so outbound calls block only those. The pool locks with {@code ReentrantLock}, so waiting for a
+ * connection does not pin the carrier thread.
+ */
 @Configuration
 public class RestClientConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager interServiceConnectionManager(
+            @Value("${services.http.max-connections:200}") int maxConnections,
+            @Value("${services.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${services.http.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${services.http.time-to-live-ms:300000}") long timeToLiveMs) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient interServiceHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                      @Value("${services.http.read-timeout-ms:10000}") long readTimeoutMs,
+                                                      @Value("${services.http.pool-timeout-ms:1000}") long poolTimeoutMs,
+                                                      @Value("${services.http.idle-timeout-ms:30000}") long idleTimeoutMs) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMs))
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @Bean
-    public RestClient.Builder restClientBuilder() {
-        return RestClient.builder();
+    @LoadBalanced
+    public RestClient.Builder interServiceRestClientBuilder(CloseableHttpClient interServiceHttpClient,
+                                                            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(interServiceHttpClient))
+                .observationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    /**
+     * Pool usage as {@code http.client.pool.connections} by {@code state}, plus {@code http.client.pool.max}.
+     */
+    @Bean
+    public MeterBinder interServicePoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return registry -> {
+            poolGauge(registry, connectionManager, "leased", PoolStats::getLeased);
+            poolGauge(registry, connectionManager, "available", PoolStats::getAvailable);
+            poolGauge(registry, connectionManager, "pending", PoolStats::getPending);
+            Gauge.builder("http.client.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                    .description("Maximum inter-service connections")
+                    .register(registry);
+        };
+    }
+
+    private static void poolGauge(MeterRegistry registry,
+                                  PoolingHttpClientConnectionManager connectionManager, String state,
+                                  ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("http.client.pool.connections", connectionManager, cm -> value.applyAsDouble(cm.getTotalStats()))
+                .description("Inter-service connections by state; pending counts requests waiting for one")
+                .tag("state", state)
+                .register(registry);
     }
 }
@@ -0,0 +1,43 @@
+package com.casestudy.invitationservice.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+/**
+ * Answers the {@link ResponseStatusException}s thrown by the services with their status and an
+ * {@code {"error": reason}} body, like the other services. Clients that do not accept JSON, such as event stream
+ * subscribers, get the status alone.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, String>> handleStatus(ResponseStatusException e, HttpServletRequest request) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatusCode()).headers(e.getHeaders());
+        if (!acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return response.build();
+        }
+        String reason = e.getReason() != null ? e.getReason() : e.getStatusCode().toString();
+        return response.body(Map.of("error", reason));
+    }
+
+    private static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package com.casestudy.invitationservice.controller;
 
+import com.casestudy.invitationservice.dto.CursorPage;
+import com.casestudy.invitationservice.dto.ExpirationSummary;
+import com.casestudy.invitationservice.dto.PageCursor;
 import com.casestudy.invitationservice.entity.Invitation;
 import com.casestudy.invitationservice.enums.InvitationStatus;
+import com.casestudy.invitationservice.service.InvitationEventStream;
 import com.casestudy.invitationservice.service.InvitationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -17,10 +22,23 @@ import java.util.UUID;
 public class InvitationController {
 
     private final InvitationService service;
+    private final InvitationEventStream eventStream;
 
     @GetMapping
-    public ResponseEntity<List<Invitation>> getAll() {
-        return ResponseEntity.ok(service.getAll());
+    public ResponseEntity<CursorPage<Invitation>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String sort
+    ) {
+        return ResponseEntity.ok(service.getAll(cursor, size, PageCursor.direction(sort)));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<CursorPage<Invitation>> getChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        return ResponseEntity.ok(service.getChanges(cursor, size));
     }
 
     @GetMapping("/{id}")
@@ -29,13 +47,28 @@ public class InvitationController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Invitation>> getByUserId(@PathVariable UUID userId) {
-        return ResponseEntity.ok(service.getByUserId(userId));
+    public ResponseEntity<CursorPage<Invitation>> getByUserId(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String sort
+    ) {
+        return ResponseEntity.ok(service.getByUserId(userId, cursor, size, PageCursor.direction(sort)));
+    }
+
+    @GetMapping(path = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamByUserId(@PathVariable UUID userId) {
+        return ResponseEntity.ok(eventStream.subscribe(userId));
     }
 
     @GetMapping("/organization/{orgId}")
-    public ResponseEntity<List<Invitation>> getByOrganizationId(@PathVariable UUID orgId) {
-        return ResponseEntity.ok(service.getByOrganizationId(orgId));
+    public ResponseEntity<CursorPage<Invitation>> getByOrganizationId(
+            @PathVariable UUID orgId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String sort
+    ) {
+        return ResponseEntity.ok(service.getByOrganizationId(orgId, cursor, size, PageCursor.direction(sort)));
     }
 
     @PostMapping
@@ -54,9 +87,8 @@ public class InvitationController {
     }
 
     @PostMapping("/expire")
-    public ResponseEntity<Void> expireOldInvitations() {
-        service.expireOld();
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<ExpirationSummary> expireOldInvitations() {
+        return ResponseEntity.ok(service.expireOld());
     }
 
     @DeleteMapping("/{id}")
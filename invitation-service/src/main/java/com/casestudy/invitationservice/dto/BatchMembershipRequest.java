@@ -0,0 +1,10 @@
+package com.casestudy.invitationservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of organization-service's {@code POST /api/organizations/{orgId}/members/batch}.
+ */
+public record BatchMembershipRequest(List<UUID> userIds) {
+}
@@ -0,0 +1,15 @@
+package com.casestudy.invitationservice.dto;
+
+import com.casestudy.invitationservice.enums.MembershipOutcome;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user outcome returned by organization-service for a batch add.
+ */
+public record BatchMembershipResponse(UUID organizationId, int addedCount, List<Result> results) {
+
+    public record Result(UUID userId, MembershipOutcome outcome) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.casestudy.invitationservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one expiration run: how many invitations were expired, in how many chunks, and how long it took.
+ */
+public record ExpirationSummary(LocalDateTime cutoff, int expiredCount, int batches, long durationMs) {
+}
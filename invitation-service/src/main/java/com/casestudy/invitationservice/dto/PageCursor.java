@@ -0,0 +1,83 @@
+package com.casestudy.invitationservice.dto;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keyset position of the last row of a page, exchanged with clients as an opaque token. {@code timestamp} is the
+ * row's {@code createdAt} for listings and its {@code updatedAt} for the change feed.
+ */
+public record PageCursor(LocalDateTime timestamp, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Listing order matching the {@code (created_at, id)} indexes; {@code id} breaks ties between equal timestamps.
+     */
+    public static Sort sort(Sort.Direction direction) {
+        return Sort.by(direction, "createdAt", "id");
+    }
+
+    /**
+     * Parses the {@code sort} request parameter, {@code asc} or {@code desc} in any case.
+     */
+    public static Sort.Direction direction(String sort) {
+        return Sort.Direction.fromOptionalString(sort).orElseThrow(() -> new ResponseStatusException(
+                HttpStatus.BAD_REQUEST, "Invalid sort direction: " + sort + ". Use asc or desc."));
+    }
+
+    /**
+     * Change feed order matching the {@code (updated_at, id)} index.
+     */
+    public static Sort changeSort() {
+        return Sort.by(Sort.Direction.ASC, "updatedAt", "id");
+    }
+
+    /**
+     * Resolves a client token to the position to continue from; a missing token starts at the first page.
+     */
+    public static ScrollPosition positionOf(String token) {
+        return positionOf(token, "createdAt");
+    }
+
+    /**
+     * Like {@link #positionOf(String)}, for rows ordered by {@code timestampProperty} and {@code id}.
+     */
+    public static ScrollPosition positionOf(String token, String timestampProperty) {
+        PageCursor cursor = decode(token);
+        if (cursor == null) {
+            return ScrollPosition.keyset();
+        }
+        return ScrollPosition.forward(Map.of(timestampProperty, cursor.timestamp(), "id", cursor.id()));
+    }
+
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    UUID.fromString(raw.substring(split + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor: " + token);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.casestudy.invitationservice.entity;
 
+import com.casestudy.common.id.TimeOrderedId;
 import com.casestudy.invitationservice.enums.InvitationStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
@@ -18,9 +19,11 @@ import java.util.UUID;
         name = "invitations",
         uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "organization_id", "status"}),
         indexes = {
-                @Index(name = "idx_invitation_user_id", columnList = "user_id"),
-                @Index(name = "idx_invitation_org_id", columnList = "organization_id"),
-                @Index(name = "idx_invitation_status", columnList = "status")
+                @Index(name = "idx_invitation_user_created", columnList = "user_id, created_at, id"),
+                @Index(name = "idx_invitation_org_created", columnList = "organization_id, created_at, id"),
+                @Index(name = "idx_invitation_created_at_id", columnList = "created_at, id"),
+                @Index(name = "idx_invitation_updated_at_id", columnList = "updated_at, id"),
+                @Index(name = "idx_invitation_status_expiration", columnList = "status, expiration_date")
         }
 )
 @Getter
@@ -28,7 +31,7 @@ import java.util.UUID;
 public class Invitation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @NotNull(message = "User ID cannot be null")
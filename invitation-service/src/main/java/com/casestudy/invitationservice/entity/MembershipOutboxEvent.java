@@ -0,0 +1,66 @@
+package com.casestudy.invitationservice.entity;
+
+import com.casestudy.common.id.TimeOrderedId;
+import com.casestudy.invitationservice.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pending "add user to organization" request, written in the same transaction that accepts the invitation
+ * and delivered to organization-service by {@link com.casestudy.invitationservice.service.MembershipOutboxRelay}.
+ */
+@Entity
+@Table(
+        name = "membership_outbox",
+        indexes = {
+                @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_outbox_status_delivered", columnList = "status, delivered_at")
+        }
+)
+@Getter
+@Setter
+public class MembershipOutboxEvent {
+
+    @Id
+    @TimeOrderedId
+    private UUID id;
+
+    @Column(name = "invitation_id", nullable = false)
+    private UUID invitationId;
+
+    @Column(name = "organization_id", nullable = false)
+    private UUID organizationId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.casestudy.invitationservice.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
@@ -2,8 +2,16 @@ package com.casestudy.invitationservice.repository;
 
 import com.casestudy.invitationservice.entity.Invitation;
 import com.casestudy.invitationservice.enums.InvitationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,6 +19,50 @@ import java.util.UUID;
 public interface InvitationRepository extends JpaRepository<Invitation, UUID> {
     Optional<Invitation> findByUserIdAndOrganizationIdAndStatus(UUID userId, UUID organizationId, InvitationStatus status);
     List<Invitation> findByStatus(InvitationStatus status);
-    List<Invitation> findByUserId(UUID userId);
-    List<Invitation> findByOrganizationId(UUID organizationId);
+    Window<Invitation> findBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Invitation> findByUserId(UUID userId, ScrollPosition position, Sort sort, Limit limit);
+    Window<Invitation> findByOrganizationId(UUID organizationId, ScrollPosition position, Sort sort, Limit limit);
+    Window<Invitation> findByUpdatedAtBefore(LocalDateTime horizon, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Expires at most {@code batchSize} pending invitations whose expiration date is before {@code cutoff}; call it in
+     * a transaction. Rows locked by a concurrent run on another instance are skipped rather than waited on.
+     * {@code updatedAt} is the time of this batch rather than {@code cutoff}, so the change feed does not miss batches
+     * committed later.
+     * <p>
+     * A user and organization can have only one invitation per status, so an older EXPIRED invitation of the same pair
+     * is deleted first; the newest one remains as the expired record.
+     */
+    default int expirePendingBefore(LocalDateTime cutoff, LocalDateTime updatedAt, int batchSize) {
+        List<UUID> due = lockDuePending(cutoff, batchSize);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        deleteExpiredOfSamePair(due);
+        return markExpired(due, updatedAt);
+    }
+
+    @Query(value = """
+            SELECT id FROM invitations
+            WHERE status = 'PENDING' AND expiration_date < :cutoff
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<UUID> lockDuePending(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM invitations expired
+            USING invitations pending
+            WHERE pending.id IN (:ids)
+              AND expired.user_id = pending.user_id
+              AND expired.organization_id = pending.organization_id
+              AND expired.status = 'EXPIRED'
+            """, nativeQuery = true)
+    int deleteExpiredOfSamePair(@Param("ids") List<UUID> pendingIds);
+
+    @Modifying
+    @Query(value = "UPDATE invitations SET status = 'EXPIRED', updated_at = :updatedAt WHERE id IN (:ids)",
+            nativeQuery = true)
+    int markExpired(@Param("ids") List<UUID> ids, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,55 @@
+package com.casestudy.invitationservice.repository;
+
+import com.casestudy.invitationservice.entity.MembershipOutboxEvent;
+import com.casestudy.invitationservice.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface MembershipOutboxRepository extends JpaRepository<MembershipOutboxEvent, UUID> {
+
+    /**
+     * Locks up to {@code batchSize} due events. Rows already locked by another relay instance are skipped.
+     */
+    @Query(value = """
+            SELECT * FROM membership_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<MembershipOutboxEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("""
+            UPDATE MembershipOutboxEvent e
+            SET e.status = :status, e.deliveredAt = :deliveredAt, e.lastError = null, e.updatedAt = :deliveredAt
+            WHERE e.id IN :ids
+            """)
+    int markDelivered(@Param("ids") Collection<UUID> ids,
+                      @Param("status") OutboxStatus status,
+                      @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    /**
+     * Deletes up to {@code batchSize} events delivered before {@code cutoff}.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM membership_outbox
+            WHERE id IN (SELECT id FROM membership_outbox
+                         WHERE status = 'DELIVERED' AND delivered_at < :cutoff
+                         LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT min(e.createdAt) FROM MembershipOutboxEvent e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") OutboxStatus status);
+}
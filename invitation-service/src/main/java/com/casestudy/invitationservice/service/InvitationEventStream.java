@@ -0,0 +1,256 @@
+package com.casestudy.invitationservice.service;
+
+import com.casestudy.invitationservice.dto.CursorPage;
+import com.casestudy.invitationservice.dto.PageCursor;
+import com.casestudy.invitationservice.entity.Invitation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes invitation changes to the open {@code /api/invitations/user/{userId}/stream} connections of the invited
+ * user as Server-Sent Events.
+ * <p>
+ * Streams are asynchronous servlet requests, so an idle connection holds no thread. Each instance follows the change
+ * feed ({@link InvitationService#getChanges}) with one poll every {@code invitations.stream.poll-ms}, whichever
+ * instance made the change, and queues every change, serialized once, on the subscribers of that user. Changes
+ * therefore arrive after the feed's settle delay. While an instance has no subscribers it skips the query and
+ * restarts from the present; clients re-read their invitations whenever they (re)connect, which also covers the
+ * connection gap. A comment is sent every {@code invitations.stream.heartbeat-ms} to keep proxies from closing idle
+ * streams and to drop dead ones.
+ * <p>
+ * Writes can block on a slow client, so they run on {@code invitations.stream.send-threads} threads of their own,
+ * never on the poller or the scheduler. A stream that falls {@code invitations.stream.max-pending-events} behind is
+ * closed ({@code invitations.stream.dropped}), and its client reconnects and re-reads.
+ */
+@Component
+@Slf4j
+public class InvitationEventStream {
+
+    private static final String EVENT_NAME = "invitation";
+    private static final int POLL_PAGE_SIZE = 1000;
+
+    private final InvitationService invitationService;
+    private final ObjectMapper objectMapper;
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+    private final Counter droppedStreams;
+    private final long timeoutMs;
+    private final int maxConnections;
+    private final int maxPendingEvents;
+    private final long settleMs;
+    private String changeCursor;
+
+    public InvitationEventStream(InvitationService invitationService,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${invitations.stream.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${invitations.stream.max-connections:10000}") int maxConnections,
+                                 @Value("${invitations.stream.send-threads:8}") int sendThreads,
+                                 @Value("${invitations.stream.max-pending-events:100}") int maxPendingEvents,
+                                 @Value("${invitations.changes.settle-ms:5000}") long settleMs) {
+        this.invitationService = invitationService;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxConnections = maxConnections;
+        this.maxPendingEvents = maxPendingEvents;
+        this.settleMs = settleMs;
+        // A stream has at most one send task queued, so the queue never holds more than maxConnections
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConnections), task -> {
+                    Thread thread = new Thread(task, "invitation-stream-send-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.droppedStreams = Counter.builder("invitations.stream.dropped")
+                .description("Invitation event streams closed because the client fell behind")
+                .register(meterRegistry);
+        Gauge.builder("invitations.stream.connections", connections, AtomicInteger::get)
+                .description("Open invitation event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open invitation streams.");
+        }
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs));
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+        // Held until the response starts, right after this request returns, so clients see the stream open at once
+        subscriber.send(SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${invitations.stream.poll-ms:1000}")
+    public void pollChanges() {
+        if (subscribers.isEmpty()) {
+            changeCursor = null;
+            return;
+        }
+        if (changeCursor == null) {
+            LocalDateTime horizon = LocalDateTime.now().minus(Duration.ofMillis(settleMs));
+            changeCursor = new PageCursor(horizon, new UUID(0, 0)).encode();
+        }
+        CursorPage<Invitation> page;
+        do {
+            page = invitationService.getChanges(changeCursor, POLL_PAGE_SIZE);
+            page.items().forEach(this::publish);
+            changeCursor = page.nextCursor();
+        } while (page.hasMore());
+    }
+
+    private void publish(Invitation invitation) {
+        Set<Subscriber> targets = subscribers.get(invitation.getUserId());
+        if (targets == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> data;
+        try {
+            data = SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsString(invitation), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize invitation {} for its event stream", invitation.getId(), e);
+            return;
+        }
+        targets.forEach(subscriber -> subscriber.offer(data));
+    }
+
+    @Scheduled(fixedDelayString = "${invitations.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(set -> set.stream()
+                .filter(Subscriber::isIdle)
+                .forEach(subscriber -> subscriber.offer(ping)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            if (set.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * One open stream. Events queue up here and a sender thread writes them, with at most one task per stream at a
+     * time, so they arrive in order and a client that reads slowly holds up no other stream but its own.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean fellBehind;
+
+        private Subscriber(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        boolean isIdle() {
+            return pendingCount.get() == 0;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> data) {
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                fellBehind = true;
+            } else {
+                pending.add(data);
+            }
+            schedule();
+        }
+
+        @Override
+        public void run() {
+            Set<ResponseBodyEmitter.DataWithMediaType> data;
+            while (!fellBehind && (data = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                if (!send(data)) {
+                    return;
+                }
+            }
+            if (fellBehind) {
+                pending.clear();
+                droppedStreams.increment();
+                emitter.complete();
+                return;
+            }
+            scheduled.set(false);
+            // Covers an offer that came in after the queue was drained but before the flag was cleared
+            if (!pending.isEmpty() || fellBehind) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Only after shutdown
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private boolean send(Set<ResponseBodyEmitter.DataWithMediaType> data) {
+            try {
+                emitter.send(data);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; completing the emitter unsubscribes it
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
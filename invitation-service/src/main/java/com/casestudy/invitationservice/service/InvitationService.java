@@ -1,38 +1,84 @@
 package com.casestudy.invitationservice.service;
 
+import com.casestudy.common.datasource.ReplicaLagTolerance;
+import com.casestudy.invitationservice.dto.CursorPage;
+import com.casestudy.invitationservice.dto.ExpirationSummary;
+import com.casestudy.invitationservice.dto.PageCursor;
 import com.casestudy.invitationservice.entity.Invitation;
+import com.casestudy.invitationservice.entity.MembershipOutboxEvent;
 import com.casestudy.invitationservice.enums.InvitationStatus;
 import com.casestudy.invitationservice.repository.InvitationRepository;
+import com.casestudy.invitationservice.repository.MembershipOutboxRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
-import org.springframework.web.util.UriComponentsBuilder;
 
-import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 @Slf4j
 public class InvitationService {
 
-    private final InvitationRepository repo;
-    private final RestClient.Builder restClientBuilder;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CHANGES_PAGE_SIZE = 1000;
 
-    @Value("${services.organization.base-url}")
-    private String organizationBaseUrl;
+    private final InvitationRepository repo;
+    private final MembershipOutboxRepository outboxRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<ExpirationSummary> lastExpiration =
+            new AtomicReference<>(new ExpirationSummary(null, 0, 0, 0));
+    private DistributionSummary expirationBatchSizes;
+
+    @Value("${invitations.expiration.batch-size:1000}")
+    private int expirationBatchSize;
+
+    @Value("${invitations.changes.settle-ms:5000}")
+    private long changesSettleMs;
+
+    @PostConstruct
+    void registerExpirationMetrics() {
+        expirationBatchSizes = DistributionSummary.builder("invitations.expiration.batch.size")
+                .description("Invitations expired per batch")
+                .register(meterRegistry);
+        Gauge.builder("invitations.expiration.last.expired", lastExpiration, s -> s.get().expiredCount())
+                .description("Invitations expired by the last run")
+                .register(meterRegistry);
+        Gauge.builder("invitations.expiration.last.batches", lastExpiration, s -> s.get().batches())
+                .description("Batches of the last run")
+                .register(meterRegistry);
+        TimeGauge.builder("invitations.expiration.last.duration", lastExpiration, TimeUnit.MILLISECONDS,
+                        s -> s.get().durationMs())
+                .description("Duration of the last run")
+                .register(meterRegistry);
+    }
 
-    public List<Invitation> getAll() {
-        return repo.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<Invitation> getAll(String cursor, int size, Sort.Direction direction) {
+        return toPage(repo.findBy(PageCursor.positionOf(cursor), PageCursor.sort(direction), limitOf(size)));
     }
 
     public Invitation getById(UUID id) {
@@ -40,12 +86,39 @@ public class InvitationService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Invitation not found: " + id));
     }
 
-    public List<Invitation> getByUserId(UUID userId) {
-        return repo.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public CursorPage<Invitation> getByUserId(UUID userId, String cursor, int size, Sort.Direction direction) {
+        return toPage(repo.findByUserId(userId, PageCursor.positionOf(cursor), PageCursor.sort(direction), limitOf(size)));
     }
 
-    public List<Invitation> getByOrganizationId(UUID orgId) {
-        return repo.findByOrganizationId(orgId);
+    @Transactional(readOnly = true)
+    public CursorPage<Invitation> getByOrganizationId(UUID orgId, String cursor, int size, Sort.Direction direction) {
+        return toPage(repo.findByOrganizationId(orgId, PageCursor.positionOf(cursor), PageCursor.sort(direction), limitOf(size)));
+    }
+
+    /**
+     * Invitations created or changed after {@code cursor}, oldest change first. Changes younger than
+     * {@code invitations.changes.settle-ms} are held back: a transaction can commit after a later one, and without the
+     * delay a client could move its cursor past a change that was not yet visible. Deleted invitations are not
+     * reported. Unlike listings, the last page still carries a cursor, which clients keep to poll for later changes.
+     * Replica lag eats into the settle window, so the tolerance here must stay well below it.
+     */
+    @Transactional(readOnly = true)
+    @ReplicaLagTolerance(maxLagMs = 1000)
+    public CursorPage<Invitation> getChanges(String cursor, int size) {
+        if (size < 1 || size > MAX_CHANGES_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page size must be between 1 and " + MAX_CHANGES_PAGE_SIZE);
+        }
+        LocalDateTime horizon = LocalDateTime.now().minus(Duration.ofMillis(changesSettleMs));
+        Window<Invitation> window = repo.findByUpdatedAtBefore(horizon, PageCursor.positionOf(cursor, "updatedAt"),
+                PageCursor.changeSort(), Limit.of(size));
+        List<Invitation> items = window.getContent();
+        if (items.isEmpty()) {
+            return new CursorPage<>(items, cursor, false);
+        }
+        Invitation last = items.get(items.size() - 1);
+        return new CursorPage<>(items, new PageCursor(last.getUpdatedAt(), last.getId()).encode(), window.hasNext());
     }
 
     @Transactional
@@ -66,11 +139,12 @@ public class InvitationService {
     @Transactional
     public Invitation updateStatus(UUID id, InvitationStatus status) {
         Invitation inv = getById(id);
+        boolean newlyAccepted = status == InvitationStatus.ACCEPTED && inv.getStatus() != InvitationStatus.ACCEPTED;
         inv.setStatus(status);
         Invitation saved = repo.save(inv);
 
-        if (status == InvitationStatus.ACCEPTED) {
-            notifyOrganizationService(inv);
+        if (newlyAccepted) {
+            enqueueMembership(saved);
         }
         return saved;
     }
@@ -81,19 +155,26 @@ public class InvitationService {
         repo.delete(inv);
     }
 
-    @Transactional
-    public void expireOld() {
-        var pending = repo.findByStatus(InvitationStatus.PENDING);
-        var now = LocalDateTime.now();
-
-        pending.stream()
-                .filter(i -> i.getExpirationDate() != null && i.getExpirationDate().isBefore(now))
-                .forEach(i -> {
-                    i.setStatus(InvitationStatus.EXPIRED);
-                    repo.save(i);
-                });
-
-        log.info("Expired invitations cleanup completed at {}", now);
+    public ExpirationSummary expireOld() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        int expired = 0;
+        int batches = 0;
+
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> repo.expirePendingBefore(cutoff, LocalDateTime.now(), expirationBatchSize));
+            expirationBatchSizes.record(updated);
+            expired += updated;
+            batches++;
+        } while (updated == expirationBatchSize);
+
+        ExpirationSummary summary = new ExpirationSummary(cutoff, expired, batches,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        lastExpiration.set(summary);
+        log.info("Expired {} invitations in {} batches ({} ms), cutoff {}",
+                summary.expiredCount(), summary.batches(), summary.durationMs(), cutoff);
+        return summary;
     }
 
     @Scheduled(cron = "0 0 0 * * *")
@@ -101,23 +182,23 @@ public class InvitationService {
         expireOld();
     }
 
-    private void notifyOrganizationService(Invitation inv) {
-        RestClient restClient = restClientBuilder.build();
-        try {
-            URI uri = UriComponentsBuilder
-                    .fromHttpUrl(organizationBaseUrl)
-                    .path("/api/organizations/{orgId}/members")
-                    .queryParam("userId", inv.getUserId())
-                    .build(inv.getOrganizationId());
-
-            restClient.post()
-                    .uri(uri)
-                    .retrieve()
-                    .toBodilessEntity();
-
-            log.info("User {} added to organization {} successfully.", inv.getUserId(), inv.getOrganizationId());
-        } catch (RestClientException e) {
-            log.error("Failed to call organization-service: {}", e.getMessage());
+    private Limit limitOf(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
+        return Limit.of(size);
+    }
+
+    private CursorPage<Invitation> toPage(Window<Invitation> window) {
+        return CursorPage.of(window, i -> new PageCursor(i.getCreatedAt(), i.getId()));
+    }
+
+    private void enqueueMembership(Invitation inv) {
+        MembershipOutboxEvent event = new MembershipOutboxEvent();
+        event.setInvitationId(inv.getId());
+        event.setOrganizationId(inv.getOrganizationId());
+        event.setUserId(inv.getUserId());
+        event.setNextAttemptAt(LocalDateTime.now());
+        outboxRepo.save(event);
     }
 }
@@ -0,0 +1,266 @@
+package com.casestudy.invitationservice.service;
+
+import com.casestudy.invitationservice.dto.BatchMembershipResponse;
+import com.casestudy.invitationservice.entity.MembershipOutboxEvent;
+import com.casestudy.invitationservice.enums.MembershipOutcome;
+import com.casestudy.invitationservice.enums.OutboxStatus;
+import com.casestudy.invitationservice.repository.MembershipOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers membership events from the outbox to organization-service.
+ * <p>
+ * Each cycle claims a batch of due events in a short transaction by pushing their {@code next_attempt_at}
+ * forward by a lease, calls organization-service's batch membership endpoint once per organization with no
+ * transaction open, then records the outcomes. Calls go through {@link OrganizationServiceClient}, so a slow or
+ * failing organization-service instance costs at most its timeout, and nothing while the circuit breaker is open.
+ * Events whose delivery fails are retried with exponential backoff and, once it reaches {@code max-backoff-ms},
+ * every {@code max-backoff-ms} until they go through; from then on each failure is logged as an error. A 4xx answer
+ * other than 408 and 429, such as 404 for a deleted organization, cannot succeed on retry, so those events are
+ * marked {@code FAILED} instead. A relay that dies mid-batch simply lets the lease run out, so every event is
+ * delivered at least once. Delivered events are purged once they are older than {@code delivered-retention-ms}.
+ * <p>
+ * Calls are timed as {@code invitations.outbox.requests} and events counted as {@code invitations.outbox.events},
+ * both tagged with their {@code outcome}. The number of events per status ({@code invitations.outbox.backlog}) and
+ * the age of the oldest undelivered one ({@code invitations.outbox.oldest.pending}) show deliveries that are stuck;
+ * both are read from the database after each relay cycle rather than on every scrape.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MembershipOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MembershipOutboxRepository outboxRepo;
+    private final OrganizationServiceClient organizationClient;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<OutboxStatus, AtomicLong> backlog = new EnumMap<>(Map.of(
+            OutboxStatus.PENDING, new AtomicLong(),
+            OutboxStatus.FAILED, new AtomicLong()));
+    private final AtomicReference<LocalDateTime> oldestPendingCreatedAt = new AtomicReference<>();
+
+    @Value("${invitations.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${invitations.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${invitations.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${invitations.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${invitations.outbox.delivered-retention-ms:604800000}")
+    private long deliveredRetentionMs;
+
+    @Value("${invitations.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @PostConstruct
+    void registerBacklogMetrics() {
+        backlog.forEach((status, count) -> Gauge.builder("invitations.outbox.backlog", count, AtomicLong::get)
+                .description("Membership events waiting for delivery or parked")
+                .tag("status", status.name().toLowerCase())
+                .register(meterRegistry));
+        TimeGauge.builder("invitations.outbox.oldest.pending", oldestPendingCreatedAt, TimeUnit.SECONDS, ref -> {
+                    LocalDateTime oldest = ref.get();
+                    return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds();
+                })
+                .description("Age of the oldest membership event not yet delivered")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${invitations.outbox.relay-interval-ms:1000}",
+            initialDelayString = "${invitations.outbox.relay-initial-delay-ms:0}")
+    public void relayDueEvents() {
+        List<MembershipOutboxEvent> batch;
+        do {
+            batch = claimDueEvents();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+        refreshBacklogMetrics();
+    }
+
+    /**
+     * Deletes delivered events older than the retention window, {@code purge-batch-size} rows per transaction.
+     */
+    public int purgeDelivered() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(deliveredRetentionMs));
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> outboxRepo.deleteDeliveredBefore(cutoff, purgeBatchSize));
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} membership events delivered before {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    @Scheduled(fixedDelayString = "${invitations.outbox.purge-interval-ms:3600000}",
+            initialDelayString = "${invitations.outbox.purge-interval-ms:3600000}")
+    public void scheduledPurgeDelivered() {
+        purgeDelivered();
+    }
+
+    private void refreshBacklogMetrics() {
+        backlog.forEach((status, count) -> count.set(outboxRepo.countByStatus(status)));
+        oldestPendingCreatedAt.set(outboxRepo.findOldestCreatedAt(OutboxStatus.PENDING));
+    }
+
+    private List<MembershipOutboxEvent> claimDueEvents() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<MembershipOutboxEvent> due = outboxRepo.lockDueEvents(now, batchSize);
+            LocalDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+            due.forEach(e -> e.setNextAttemptAt(leaseUntil));
+            return due;
+        });
+    }
+
+    private void deliver(List<MembershipOutboxEvent> batch) {
+        List<UUID> delivered = new ArrayList<>();
+        List<MembershipOutboxEvent> failed = new ArrayList<>();
+
+        Map<UUID, List<MembershipOutboxEvent>> byOrganization = batch.stream()
+                .collect(Collectors.groupingBy(MembershipOutboxEvent::getOrganizationId, LinkedHashMap::new, Collectors.toList()));
+
+        byOrganization.forEach((orgId, events) -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                List<BatchMembershipResponse.Result> results = addMembers(orgId, events);
+                sample.stop(requestTimer("success"));
+                for (int i = 0; i < events.size(); i++) {
+                    MembershipOutboxEvent event = events.get(i);
+                    if (results.get(i).outcome() == MembershipOutcome.CAPACITY_EXCEEDED) {
+                        scheduleRetry(event, "Organization capacity exceeded");
+                        failed.add(event);
+                    } else {
+                        delivered.add(event.getId());
+                    }
+                }
+            } catch (HttpClientErrorException e) {
+                sample.stop(requestTimer("error"));
+                if (isRetryable(e)) {
+                    events.forEach(event -> scheduleRetry(event, e.getMessage()));
+                } else {
+                    events.forEach(event -> markFailed(event, e.getMessage()));
+                }
+                failed.addAll(events);
+            } catch (RestClientException e) {
+                sample.stop(requestTimer("error"));
+                events.forEach(event -> scheduleRetry(event, e.getMessage()));
+                failed.addAll(events);
+            }
+        });
+        eventCounter("delivered").increment(delivered.size());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxRepo.markDelivered(delivered, OutboxStatus.DELIVERED, LocalDateTime.now());
+            }
+            outboxRepo.saveAll(failed);
+        });
+        log.info("Membership outbox batch: {} delivered, {} failed", delivered.size(), failed.size());
+    }
+
+    /**
+     * Sends one organization's events as a single batch call. Users that are already members count as delivered,
+     * which makes redelivery after a lost response harmless.
+     */
+    private List<BatchMembershipResponse.Result> addMembers(UUID orgId, List<MembershipOutboxEvent> events) {
+        BatchMembershipResponse response = organizationClient.addMembers(orgId,
+                events.stream().map(MembershipOutboxEvent::getUserId).toList());
+
+        if (response == null || response.results() == null || response.results().size() != events.size()) {
+            throw new RestClientException("Unexpected batch membership response from organization-service");
+        }
+        return response.results();
+    }
+
+    private void scheduleRetry(MembershipOutboxEvent event, String error) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(abbreviate(error));
+        eventCounter("retried").increment();
+
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+        if (backoffMs < maxBackoffMs) {
+            log.warn("Adding user {} to organization {} failed (attempt {}), retrying in {} ms: {}",
+                    event.getUserId(), event.getOrganizationId(), attempts, backoffMs, error);
+        } else {
+            log.error("Adding user {} to organization {} still failing after {} attempts, retrying in {} ms: {}",
+                    event.getUserId(), event.getOrganizationId(), attempts, backoffMs, error);
+        }
+    }
+
+    private void markFailed(MembershipOutboxEvent event, String error) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(abbreviate(error));
+        event.setStatus(OutboxStatus.FAILED);
+        eventCounter("failed").increment();
+        log.error("Adding user {} to organization {} was rejected, not retrying: {}",
+                event.getUserId(), event.getOrganizationId(), error);
+    }
+
+    private static boolean isRetryable(HttpClientErrorException e) {
+        return e.getStatusCode().isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private Timer requestTimer(String outcome) {
+        return Timer.builder("invitations.outbox.requests")
+                .description("Batch membership calls to organization-service")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter eventCounter(String outcome) {
+        return Counter.builder("invitations.outbox.events")
+                .description("Membership events by delivery outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
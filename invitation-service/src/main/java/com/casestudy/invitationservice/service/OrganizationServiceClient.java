@@ -0,0 +1,75 @@
+package com.casestudy.invitationservice.service;
+
+import com.casestudy.invitationservice.dto.BatchMembershipRequest;
+import com.casestudy.invitationservice.dto.BatchMembershipResponse;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Calls to organization-service over the shared inter-service client, with this target's timeouts and the
+ * {@value #CIRCUIT_BREAKER} circuit breaker. While the breaker is open, calls fail at once instead of waiting on
+ * a slow instance; every failure surfaces as a {@link RestClientException}.
+ */
+@Component
+public class OrganizationServiceClient {
+
+    public static final String CIRCUIT_BREAKER = "organization-service";
+
+    private final RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+
+    public OrganizationServiceClient(RestClient.Builder interServiceRestClientBuilder,
+                                     HttpClient interServiceHttpClient,
+                                     CircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                     @Value("${services.organization.base-url}") String baseUrl,
+                                     @Value("${services.organization.read-timeout-ms:2000}") long readTimeoutMs,
+                                     @Value("${services.organization.pool-timeout-ms:500}") long poolTimeoutMs) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                .build();
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(interServiceHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            context.setRequestConfig(requestConfig);
+            return context;
+        });
+        this.restClient = interServiceRestClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+        this.circuitBreaker = circuitBreakerFactory.create(CIRCUIT_BREAKER);
+    }
+
+    /**
+     * Adds the users to the organization through its batch membership endpoint.
+     */
+    public BatchMembershipResponse addMembers(UUID orgId, List<UUID> userIds) {
+        return circuitBreaker.run(() -> restClient.post()
+                .uri("/api/organizations/{orgId}/members/batch", orgId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new BatchMembershipRequest(userIds))
+                .retrieve()
+                .body(BatchMembershipResponse.class), OrganizationServiceClient::rethrow);
+    }
+
+    private static <T> T rethrow(Throwable failure) {
+        if (failure instanceof RestClientException e) {
+            throw e;
+        }
+        throw new RestClientException("organization-service call not made: " + failure.getMessage(), failure);
+    }
+}
@@ -0,0 +1,108 @@
+package com.casestudy.invitationservice.service;
+
+import com.casestudy.invitationservice.dto.CursorPage;
+import com.casestudy.invitationservice.entity.Invitation;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Follows {@link InvitationService#getChanges} page by page against a real PostgreSQL instance.
+ */
+@SpringBootTest(properties = {
+		"eureka.client.enabled=false",
+		"spring.cloud.compatibility-verifier.enabled=false",
+		"spring.jpa.show-sql=false",
+		"invitations.changes.settle-ms=5000"
+})
+class InvitationChangeFeedTest {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private InvitationService invitationService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgres.start();
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
+	@Test
+	void pagesInUpdateOrderAcrossTiesAndResumesFromTheLastCursor() {
+		LocalDateTime tiedAt = LocalDateTime.now().minusHours(1).withNano(0);
+		List<UUID> expected = new ArrayList<>();
+		expected.add(insert(tiedAt.minusMinutes(1)));
+		List<UUID> tied = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			tied.add(insert(tiedAt));
+		}
+		// PostgreSQL orders uuids by their unsigned bytes, unlike UUID.compareTo
+		tied.sort(Comparator.comparing(UUID::toString));
+		expected.addAll(tied);
+		expected.add(insert(tiedAt.plusMinutes(1)));
+		UUID unsettled = insert(LocalDateTime.now());
+
+		List<UUID> seen = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String cursor = null;
+		CursorPage<Invitation> page;
+		do {
+			page = invitationService.getChanges(cursor, 2);
+			page.items().forEach(invitation -> seen.add(invitation.getId()));
+			pageSizes.add(page.items().size());
+			cursor = page.nextCursor();
+		} while (page.hasMore());
+
+		assertEquals(List.of(2, 2, 1), pageSizes);
+		assertEquals(expected, seen);
+
+		CursorPage<Invitation> caughtUp = invitationService.getChanges(cursor, 2);
+		assertTrue(caughtUp.items().isEmpty());
+		assertFalse(caughtUp.hasMore());
+		assertEquals(cursor, caughtUp.nextCursor());
+
+		// Once settled, a change shows up after the cursor the client kept
+		jdbcTemplate.update("UPDATE invitations SET updated_at = ? WHERE id = ?",
+				Timestamp.valueOf(tiedAt.plusMinutes(2)), unsettled);
+		assertEquals(List.of(unsettled), invitationService.getChanges(cursor, 2).items().stream()
+				.map(Invitation::getId)
+				.toList());
+	}
+
+	private UUID insert(LocalDateTime updatedAt) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("""
+				INSERT INTO invitations (id, user_id, organization_id, invitation_message, status, expiration_date,
+				                         created_at, updated_at)
+				VALUES (?, ?, ?, 'Join us', 'PENDING', ?, ?, ?)
+				""", id, UUID.randomUUID(), UUID.randomUUID(), Timestamp.valueOf(updatedAt.plusDays(7)),
+				Timestamp.valueOf(updatedAt.minusDays(1)), Timestamp.valueOf(updatedAt));
+		return id;
+	}
+}
@@ -0,0 +1,171 @@
+package com.casestudy.invitationservice.service;
+
+import com.casestudy.invitationservice.controller.InvitationController;
+import com.casestudy.invitationservice.dto.CursorPage;
+import com.casestudy.invitationservice.entity.Invitation;
+import com.casestudy.invitationservice.enums.InvitationStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Opens streams through the controller with MockMvc, whose async context stands in for the servlet container
+ * completing, timing out or failing a stream.
+ */
+class InvitationEventStreamTest {
+
+	private final InvitationService invitationService = mock(InvitationService.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final InvitationEventStream eventStream = new InvitationEventStream(invitationService,
+			new ObjectMapper().findAndRegisterModules(), meterRegistry, 60000, 10, 2, 100, 5000);
+
+	private final MockMvc mockMvc = MockMvcBuilders
+			.standaloneSetup(new InvitationController(invitationService, eventStream))
+			.build();
+
+	@AfterEach
+	void shutdown() {
+		eventStream.shutdown();
+	}
+
+	@Test
+	void fansChangesOutToEveryStreamOfTheInvitedUser() throws Exception {
+		UUID userId = UUID.randomUUID();
+		MvcResult first = open(userId);
+		MvcResult second = open(userId);
+		MvcResult otherUser = open(UUID.randomUUID());
+		Invitation invitation = invitation(userId);
+		when(invitationService.getChanges(any(), anyInt()))
+				.thenReturn(new CursorPage<>(List.of(invitation), "after-first-change", false));
+
+		eventStream.pollChanges();
+
+		await(() -> body(first).contains("event:invitation") && body(second).contains("event:invitation"));
+		assertTrue(body(first).contains(invitation.getId().toString()));
+		assertTrue(body(second).contains(invitation.getId().toString()));
+		assertFalse(body(otherUser).contains("event:invitation"));
+
+		eventStream.pollChanges();
+		verify(invitationService).getChanges("after-first-change", 1000);
+	}
+
+	@Test
+	void completedStreamIsUnsubscribed() throws Exception {
+		UUID userId = UUID.randomUUID();
+		MvcResult stream = open(userId);
+		assertEquals(1, connections());
+
+		asyncContext(stream).complete();
+
+		assertEquals(0, connections());
+		when(invitationService.getChanges(any(), anyInt()))
+				.thenReturn(new CursorPage<>(List.of(invitation(userId)), "cursor", false));
+		eventStream.pollChanges();
+		assertFalse(body(stream).contains("event:invitation"));
+	}
+
+	@Test
+	void timedOutStreamIsCompletedAndUnsubscribed() throws Exception {
+		MvcResult stream = open(UUID.randomUUID());
+		MockAsyncContext asyncContext = asyncContext(stream);
+
+		for (AsyncListener listener : List.copyOf(asyncContext.getListeners())) {
+			listener.onTimeout(new AsyncEvent(asyncContext));
+		}
+		assertNotNull(asyncContext.getDispatchedPath(), "the emitter completes on timeout");
+		asyncContext.complete();
+
+		assertEquals(0, connections());
+	}
+
+	@Test
+	void failedStreamIsUnsubscribed() throws Exception {
+		MvcResult stream = open(UUID.randomUUID());
+		MockAsyncContext asyncContext = asyncContext(stream);
+
+		for (AsyncListener listener : List.copyOf(asyncContext.getListeners())) {
+			listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+		}
+
+		assertEquals(0, connections());
+	}
+
+	@Test
+	void skipsTheFeedWhileNobodyIsSubscribed() {
+		eventStream.pollChanges();
+
+		verify(invitationService, never()).getChanges(any(), anyInt());
+	}
+
+	private MvcResult open(UUID userId) throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/invitations/user/{userId}/stream", userId)
+						.accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		await(() -> body(result).contains(":connected"));
+		return result;
+	}
+
+	private static MockAsyncContext asyncContext(MvcResult result) {
+		return (MockAsyncContext) result.getRequest().getAsyncContext();
+	}
+
+	private double connections() {
+		return meterRegistry.get("invitations.stream.connections").gauge().value();
+	}
+
+	private static Invitation invitation(UUID userId) {
+		Invitation invitation = new Invitation();
+		invitation.setId(UUID.randomUUID());
+		invitation.setUserId(userId);
+		invitation.setOrganizationId(UUID.randomUUID());
+		invitation.setInvitationMessage("Join us");
+		invitation.setStatus(InvitationStatus.PENDING);
+		return invitation;
+	}
+
+	private static String body(MvcResult result) {
+		try {
+			return result.getResponse().getContentAsString();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Sends run on the stream's own threads, so wait for them to land. */
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the stream");
+			Thread.sleep(10);
+		}
+	}
+}
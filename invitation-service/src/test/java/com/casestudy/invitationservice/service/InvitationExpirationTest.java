@@ -0,0 +1,96 @@
+package com.casestudy.invitationservice.service;
+
+import com.casestudy.invitationservice.dto.ExpirationSummary;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs {@link InvitationService#expireOld} against a real PostgreSQL instance, where the unique constraint on user,
+ * organization and status applies.
+ */
+@SpringBootTest(properties = {
+		"eureka.client.enabled=false",
+		"spring.cloud.compatibility-verifier.enabled=false",
+		"spring.jpa.show-sql=false"
+})
+class InvitationExpirationTest {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private InvitationService invitationService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgres.start();
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
+	@Test
+	void expiresPendingInvitationWhosePairAlreadyHasAnExpiredOne() {
+		UUID userId = UUID.randomUUID();
+		UUID organizationId = UUID.randomUUID();
+		LocalDateTime now = LocalDateTime.now();
+		UUID olderExpired = insert(userId, organizationId, "EXPIRED", now.minusDays(30));
+		UUID duePending = insert(userId, organizationId, "PENDING", now.minusDays(1));
+		UUID otherDuePending = insert(UUID.randomUUID(), organizationId, "PENDING", now.minusDays(1));
+		UUID futurePending = insert(UUID.randomUUID(), organizationId, "PENDING", now.plusDays(1));
+
+		ExpirationSummary summary = invitationService.expireOld();
+
+		assertEquals(2, summary.expiredCount());
+		assertEquals(List.of(duePending), jdbcTemplate.queryForList(
+				"SELECT id FROM invitations WHERE user_id = ? AND organization_id = ? AND status = 'EXPIRED'",
+				UUID.class, userId, organizationId));
+		assertEquals(0, count("SELECT count(*) FROM invitations WHERE id = ?", olderExpired));
+		assertEquals("EXPIRED", status(otherDuePending));
+		assertEquals("PENDING", status(futurePending));
+
+		insert(userId, organizationId, "PENDING", now.minusHours(1));
+		assertEquals(1, invitationService.expireOld().expiredCount());
+		assertEquals(1, count("SELECT count(*) FROM invitations WHERE user_id = ? AND organization_id = ?",
+				userId, organizationId));
+	}
+
+	private UUID insert(UUID userId, UUID organizationId, String status, LocalDateTime expirationDate) {
+		UUID id = UUID.randomUUID();
+		Timestamp createdAt = Timestamp.valueOf(expirationDate.minusDays(7));
+		jdbcTemplate.update("""
+				INSERT INTO invitations (id, user_id, organization_id, invitation_message, status, expiration_date,
+				                         created_at, updated_at)
+				VALUES (?, ?, ?, 'Join us', ?, ?, ?, ?)
+				""", id, userId, organizationId, status, Timestamp.valueOf(expirationDate), createdAt, createdAt);
+		return id;
+	}
+
+	private String status(UUID id) {
+		return jdbcTemplate.queryForObject("SELECT status FROM invitations WHERE id = ?", String.class, id);
+	}
+
+	private int count(String sql, Object... args) {
+		Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+		return count;
+	}
+}
@@ -0,0 +1,258 @@
+package com.casestudy.invitationservice.service;
+
+import com.casestudy.invitationservice.dto.BatchMembershipResponse;
+import com.casestudy.invitationservice.entity.MembershipOutboxEvent;
+import com.casestudy.invitationservice.enums.MembershipOutcome;
+import com.casestudy.invitationservice.enums.OutboxStatus;
+import com.casestudy.invitationservice.repository.MembershipOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives {@link MembershipOutboxRelay} cycle by cycle against a real PostgreSQL instance, with organization-service
+ * replaced by a mock. The scheduled cycles are pushed out of the way so each test controls when the relay runs.
+ */
+@SpringBootTest(properties = {
+		"eureka.client.enabled=false",
+		"spring.cloud.compatibility-verifier.enabled=false",
+		"spring.jpa.show-sql=false",
+		"invitations.outbox.relay-interval-ms=3600000",
+		"invitations.outbox.relay-initial-delay-ms=3600000",
+		"invitations.outbox.initial-backoff-ms=60000",
+		"invitations.outbox.max-backoff-ms=240000",
+		"invitations.outbox.lease-ms=1000",
+		"invitations.outbox.delivered-retention-ms=86400000"
+})
+class MembershipOutboxRelayTest {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private MembershipOutboxRelay relay;
+
+	@Autowired
+	private MembershipOutboxRepository outboxRepo;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@MockBean
+	private OrganizationServiceClient organizationClient;
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgres.start();
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
+	@BeforeEach
+	void clearOutbox() {
+		outboxRepo.deleteAll();
+	}
+
+	@Test
+	void deliversClaimedEventsWithOneCallPerOrganization() {
+		UUID organizationId = UUID.randomUUID();
+		MembershipOutboxEvent first = dueEvent(organizationId);
+		MembershipOutboxEvent second = dueEvent(organizationId);
+		AtomicLong dueDuringCall = new AtomicLong(-1);
+		when(organizationClient.addMembers(eq(organizationId), any())).thenAnswer(invocation -> {
+			dueDuringCall.set(jdbcTemplate.queryForObject(
+					"SELECT count(*) FROM membership_outbox WHERE status = 'PENDING' AND next_attempt_at <= ?",
+					Long.class, Timestamp.valueOf(LocalDateTime.now())));
+			return response(organizationId, invocation.getArgument(1), MembershipOutcome.ADDED);
+		});
+
+		relay.relayDueEvents();
+
+		verify(organizationClient, times(1)).addMembers(organizationId, List.of(first.getUserId(), second.getUserId()));
+		assertEquals(0, dueDuringCall.get(), "claimed events stay leased while the call is in flight");
+		for (MembershipOutboxEvent event : List.of(first, second)) {
+			MembershipOutboxEvent stored = outboxRepo.findById(event.getId()).orElseThrow();
+			assertEquals(OutboxStatus.DELIVERED, stored.getStatus());
+			assertNotNull(stored.getDeliveredAt());
+		}
+	}
+
+	@Test
+	void retriesFailedDeliveriesWithDoublingBackoffUpToTheMaximum() {
+		MembershipOutboxEvent event = dueEvent(UUID.randomUUID());
+		when(organizationClient.addMembers(any(), any())).thenThrow(new ResourceAccessException("connection refused"));
+
+		relay.relayDueEvents();
+		MembershipOutboxEvent stored = outboxRepo.findById(event.getId()).orElseThrow();
+		assertEquals(OutboxStatus.PENDING, stored.getStatus());
+		assertEquals(1, stored.getAttempts());
+		assertEquals("connection refused", stored.getLastError());
+		assertBackoff(stored, 60000);
+
+		relay.relayDueEvents();
+		verify(organizationClient, times(1)).addMembers(any(), any());
+
+		makeDue(event);
+		relay.relayDueEvents();
+		assertBackoff(outboxRepo.findById(event.getId()).orElseThrow(), 120000);
+
+		jdbcTemplate.update("UPDATE membership_outbox SET attempts = 10 WHERE id = ?", event.getId());
+		makeDue(event);
+		relay.relayDueEvents();
+		stored = outboxRepo.findById(event.getId()).orElseThrow();
+		assertEquals(11, stored.getAttempts());
+		assertBackoff(stored, 240000);
+	}
+
+	@Test
+	void retriesWhenOrganizationServiceIsThrottling() {
+		MembershipOutboxEvent event = dueEvent(UUID.randomUUID());
+		when(organizationClient.addMembers(any(), any()))
+				.thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null));
+
+		relay.relayDueEvents();
+
+		MembershipOutboxEvent stored = outboxRepo.findById(event.getId()).orElseThrow();
+		assertEquals(OutboxStatus.PENDING, stored.getStatus());
+		assertBackoff(stored, 60000);
+	}
+
+	@Test
+	void marksEventsRejectedWithAClientErrorAsFailed() {
+		MembershipOutboxEvent event = dueEvent(UUID.randomUUID());
+		when(organizationClient.addMembers(any(), any()))
+				.thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+		relay.relayDueEvents();
+		makeDue(event);
+		relay.relayDueEvents();
+
+		MembershipOutboxEvent stored = outboxRepo.findById(event.getId()).orElseThrow();
+		assertEquals(OutboxStatus.FAILED, stored.getStatus());
+		assertEquals(1, stored.getAttempts());
+		assertNotNull(stored.getLastError());
+		verify(organizationClient, times(1)).addMembers(any(), any());
+	}
+
+	@Test
+	void redeliversEventsOfACrashedCycleOnceTheirLeaseRunsOut() throws InterruptedException {
+		UUID organizationId = UUID.randomUUID();
+		MembershipOutboxEvent event = dueEvent(organizationId);
+		when(organizationClient.addMembers(any(), any()))
+				.thenThrow(new IllegalStateException("relay died"))
+				.thenAnswer(invocation -> response(organizationId, invocation.getArgument(1), MembershipOutcome.ADDED));
+
+		assertThrows(IllegalStateException.class, relay::relayDueEvents);
+		relay.relayDueEvents();
+		verify(organizationClient, times(1)).addMembers(any(), any());
+		assertEquals(OutboxStatus.PENDING, outboxRepo.findById(event.getId()).orElseThrow().getStatus());
+
+		Thread.sleep(1500);
+		relay.relayDueEvents();
+
+		verify(organizationClient, times(2)).addMembers(any(), any());
+		assertEquals(OutboxStatus.DELIVERED, outboxRepo.findById(event.getId()).orElseThrow().getStatus());
+	}
+
+	@Test
+	void purgesOnlyDeliveredEventsPastTheRetention() {
+		MembershipOutboxEvent old = dueEvent(UUID.randomUUID());
+		MembershipOutboxEvent recent = dueEvent(UUID.randomUUID());
+		MembershipOutboxEvent pending = dueEvent(UUID.randomUUID());
+		markDelivered(old, LocalDateTime.now().minusDays(2));
+		markDelivered(recent, LocalDateTime.now().minusHours(1));
+		jdbcTemplate.update("UPDATE membership_outbox SET created_at = ? WHERE id = ?",
+				Timestamp.valueOf(LocalDateTime.now().minusDays(3)), pending.getId());
+
+		assertEquals(1, relay.purgeDelivered());
+
+		assertTrue(outboxRepo.findById(old.getId()).isEmpty());
+		assertTrue(outboxRepo.findById(recent.getId()).isPresent());
+		assertTrue(outboxRepo.findById(pending.getId()).isPresent());
+		verify(organizationClient, never()).addMembers(any(), any());
+	}
+
+	@Test
+	void backlogGaugesChangeOnlyWhenTheRelayRuns() {
+		relay.relayDueEvents();
+		dueEvent(UUID.randomUUID());
+		when(organizationClient.addMembers(any(), any())).thenThrow(new ResourceAccessException("connection refused"));
+
+		assertEquals(0, backlog("pending"));
+
+		relay.relayDueEvents();
+
+		assertEquals(1, backlog("pending"));
+		assertEquals(0, backlog("failed"));
+	}
+
+	private MembershipOutboxEvent dueEvent(UUID organizationId) {
+		MembershipOutboxEvent event = new MembershipOutboxEvent();
+		event.setInvitationId(UUID.randomUUID());
+		event.setOrganizationId(organizationId);
+		event.setUserId(UUID.randomUUID());
+		event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+		return outboxRepo.save(event);
+	}
+
+	private void makeDue(MembershipOutboxEvent event) {
+		jdbcTemplate.update("UPDATE membership_outbox SET next_attempt_at = ? WHERE id = ?",
+				Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), event.getId());
+	}
+
+	private void markDelivered(MembershipOutboxEvent event, LocalDateTime deliveredAt) {
+		jdbcTemplate.update("UPDATE membership_outbox SET status = 'DELIVERED', delivered_at = ? WHERE id = ?",
+				Timestamp.valueOf(deliveredAt), event.getId());
+	}
+
+	private static void assertBackoff(MembershipOutboxEvent event, long expectedMs) {
+		long actualMs = Duration.between(LocalDateTime.now(), event.getNextAttemptAt()).toMillis();
+		assertTrue(actualMs > expectedMs - 5000 && actualMs <= expectedMs,
+				"next attempt in " + actualMs + " ms, expected about " + expectedMs);
+	}
+
+	private double backlog(String status) {
+		return meterRegistry.get("invitations.outbox.backlog").tag("status", status).gauge().value();
+	}
+
+	private static BatchMembershipResponse response(UUID organizationId, List<UUID> userIds, MembershipOutcome outcome) {
+		return new BatchMembershipResponse(organizationId, userIds.size(),
+				userIds.stream().map(userId -> new BatchMembershipResponse.Result(userId, outcome)).toList());
+	}
+}
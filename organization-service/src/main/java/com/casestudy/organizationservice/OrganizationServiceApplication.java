@@ -1,9 +1,14 @@
 package com.casestudy.organizationservice;
 
+import com.casestudy.common.datasource.ReadReplicaConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(ReadReplicaConfiguration.class)
+@EnableCaching
 public class OrganizationServiceApplication {
 
 	public static void main(String[] args) {
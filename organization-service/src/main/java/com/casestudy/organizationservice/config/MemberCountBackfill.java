@@ -0,0 +1,38 @@
+package com.casestudy.organizationservice.config;
+
+import com.casestudy.organizationservice.repository.OrganizationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Corrects {@code organizations.member_count} where it disagrees with {@code organization_members}: on databases
+ * that predate the column, where it starts at 0, and after members were changed outside the service. Only rows that
+ * differ are written, so running it on every startup is safe.
+ * <p>
+ * Organizations are locked against writes while the members are counted. Adds take their seat before inserting the
+ * member, so they either finished before the lock or wait for it; a removal already in flight decrements after the
+ * recount, which still counted its member.
+ */
+@Component
+@ConditionalOnProperty(name = "organizations.member-count.recalculate-on-startup", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class MemberCountBackfill implements ApplicationRunner {
+
+    private final OrganizationRepository repository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        repository.lockAgainstWrites();
+        int updated = repository.recalculateMemberCounts();
+        if (updated > 0) {
+            log.warn("Corrected member_count for {} organizations", updated);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.casestudy.organizationservice.controller;
+
+import com.casestudy.organizationservice.service.OrganizationCacheInvalidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Receives invalidations from peer instances. Blocked at the gateway.
+ */
+@RestController
+@RequestMapping("/internal/cache")
+@ConditionalOnProperty(name = "organizations.cache.peer-invalidation.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CacheInvalidationController {
+
+    private final OrganizationCacheInvalidator invalidator;
+
+    @DeleteMapping("/organizations/{id}")
+    public ResponseEntity<Void> evictOrganization(@PathVariable UUID id,
+                                                  @RequestParam(defaultValue = "false") boolean membersOnly) {
+        invalidator.evictLocally(id, membersOnly);
+        return ResponseEntity.noContent().build();
+    }
+}
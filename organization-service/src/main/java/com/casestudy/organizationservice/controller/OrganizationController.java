@@ -1,5 +1,12 @@
 package com.casestudy.organizationservice.controller;
 
+import com.casestudy.organizationservice.dto.BatchGetRequest;
+import com.casestudy.organizationservice.dto.BatchGetResponse;
+import com.casestudy.organizationservice.dto.BatchMembershipRequest;
+import com.casestudy.organizationservice.dto.BatchMembershipResponse;
+import com.casestudy.organizationservice.dto.CursorPage;
+import com.casestudy.organizationservice.dto.MemberSummary;
+import com.casestudy.organizationservice.dto.PageCursor;
 import com.casestudy.organizationservice.entity.Organization;
 import com.casestudy.organizationservice.service.OrganizationMemberService;
 import com.casestudy.organizationservice.service.OrganizationService;
@@ -18,8 +25,12 @@ public class OrganizationController {
     private final OrganizationMemberService memberService;
 
     @GetMapping
-    public ResponseEntity<List<Organization>> getAll() {
-        return ResponseEntity.ok(service.getAll());
+    public ResponseEntity<CursorPage<Organization>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String sort
+    ) {
+        return ResponseEntity.ok(service.getAll(cursor, size, PageCursor.direction(sort)));
     }
 
     @GetMapping("/{id}")
@@ -27,6 +38,11 @@ public class OrganizationController {
         return ResponseEntity.ok(service.getById(id));
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<Organization>> getByIds(@RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(service.getByIds(request.ids()));
+    }
+
     @PostMapping
     public ResponseEntity<Organization> create(@RequestBody Organization organization) {
         return ResponseEntity.ok(service.create(organization));
@@ -48,27 +64,48 @@ public class OrganizationController {
 
     @PostMapping("/{orgId}/members")
     public ResponseEntity<Void> addMember(@PathVariable UUID orgId, @RequestParam UUID userId) {
-        service.getById(orgId);
+        service.getCapacity(orgId);
         memberService.addMember(orgId, userId);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{orgId}/members/batch")
+    public ResponseEntity<BatchMembershipResponse> addMembers(
+            @PathVariable UUID orgId,
+            @RequestBody BatchMembershipRequest request
+    ) {
+        return ResponseEntity.ok(memberService.addMembers(orgId, request.userIds()));
+    }
+
     @GetMapping("/{orgId}/members")
     public ResponseEntity<List<UUID>> listMembers(@PathVariable UUID orgId) {
-        service.getById(orgId);
+        service.getCapacity(orgId);
         return ResponseEntity.ok(memberService.listUserIds(orgId));
     }
 
+    @GetMapping("/{orgId}/members/page")
+    public ResponseEntity<CursorPage<MemberSummary>> listMembersPage(
+            @PathVariable UUID orgId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        service.getCapacity(orgId);
+        return ResponseEntity.ok(memberService.listMembers(orgId, cursor, size));
+    }
+
     @DeleteMapping("/{orgId}/members/{userId}")
     public ResponseEntity<Void> removeMember(@PathVariable UUID orgId, @PathVariable UUID userId) {
-        service.getById(orgId);
+        service.getCapacity(orgId);
         memberService.removeMember(orgId, userId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Organization>> searchByName(@RequestParam String name) {
-        return ResponseEntity.ok(service.searchByName(name));
+    public ResponseEntity<List<Organization>> searchByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(service.searchByName(name, limit));
     }
 
     @GetMapping("/by-user/{userId}")
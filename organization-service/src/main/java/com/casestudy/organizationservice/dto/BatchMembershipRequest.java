@@ -0,0 +1,7 @@
+package com.casestudy.organizationservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchMembershipRequest(List<UUID> userIds) {
+}
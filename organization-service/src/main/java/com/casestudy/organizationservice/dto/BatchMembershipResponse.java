@@ -0,0 +1,15 @@
+package com.casestudy.organizationservice.dto;
+
+import com.casestudy.organizationservice.enums.MembershipOutcome;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user outcome of a batch add, in the order the user IDs were submitted.
+ */
+public record BatchMembershipResponse(UUID organizationId, int addedCount, List<Result> results) {
+
+    public record Result(UUID userId, MembershipOutcome outcome) {
+    }
+}
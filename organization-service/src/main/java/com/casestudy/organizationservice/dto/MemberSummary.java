@@ -0,0 +1,10 @@
+package com.casestudy.organizationservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One roster entry, read straight from the membership columns without loading the entity.
+ */
+public record MemberSummary(UUID userId, LocalDateTime joinedAt) {
+}
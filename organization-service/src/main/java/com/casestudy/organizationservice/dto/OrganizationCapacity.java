@@ -0,0 +1,15 @@
+package com.casestudy.organizationservice.dto;
+
+import com.casestudy.organizationservice.entity.Organization;
+
+import java.util.UUID;
+
+/**
+ * The parts of an organization the membership endpoints need, small and immutable enough to cache.
+ */
+public record OrganizationCapacity(UUID id, String organizationName, int companySize) {
+
+    public static OrganizationCapacity of(Organization organization) {
+        return new OrganizationCapacity(organization.getId(), organization.getOrganizationName(), organization.getCompanySize());
+    }
+}
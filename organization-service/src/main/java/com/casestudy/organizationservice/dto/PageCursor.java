@@ -0,0 +1,69 @@
+package com.casestudy.organizationservice.dto;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keyset position of the last row of a page, exchanged with clients as an opaque token.
+ */
+public record PageCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Listing order matching the {@code (created_at, id)} indexes; {@code id} breaks ties between equal timestamps.
+     */
+    public static Sort sort(Sort.Direction direction) {
+        return Sort.by(direction, "createdAt", "id");
+    }
+
+    /**
+     * Parses the {@code sort} request parameter, {@code asc} or {@code desc} in any case.
+     */
+    public static Sort.Direction direction(String sort) {
+        return Sort.Direction.fromOptionalString(sort)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + sort + ". Use asc or desc."));
+    }
+
+    /**
+     * Resolves a client token to the position to continue from; a missing token starts at the first page.
+     */
+    public static ScrollPosition positionOf(String token) {
+        PageCursor cursor = decode(token);
+        if (cursor == null) {
+            return ScrollPosition.keyset();
+        }
+        return ScrollPosition.forward(Map.of("createdAt", cursor.createdAt(), "id", cursor.id()));
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a client token for queries that apply the keyset condition themselves; null for a missing token.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    UUID.fromString(raw.substring(split + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+    }
+}
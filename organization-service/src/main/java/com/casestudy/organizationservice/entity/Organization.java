@@ -1,5 +1,8 @@
 package com.casestudy.organizationservice.entity;
 
+import com.casestudy.common.id.TimeOrderedId;
+import com.casestudy.common.text.TextNormalizer;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Getter;
@@ -15,7 +18,8 @@ import java.util.UUID;
         name = "organizations",
         indexes = {
                 @Index(name = "idx_org_registry_number", columnList = "registry_number"),
-                @Index(name = "idx_org_normalized_name", columnList = "normalized_organization_name")
+                @Index(name = "idx_org_normalized_name", columnList = "normalized_organization_name"),
+                @Index(name = "idx_org_created_at_id", columnList = "created_at, id")
         }
 )
 @Getter
@@ -23,7 +27,7 @@ import java.util.UUID;
 public class Organization {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @NotBlank(message = "Registry number is required")
@@ -49,6 +53,14 @@ public class Organization {
     @Column(name = "company_size", nullable = false)
     private Integer companySize;
 
+    /**
+     * Denormalized number of members, maintained only through the conditional updates in
+     * {@link com.casestudy.organizationservice.repository.OrganizationRepository}; never written by entity saves.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "member_count", nullable = false, updatable = false, columnDefinition = "integer not null default 0")
+    private int memberCount;
+
     @NotNull(message = "Year founded is required")
     @Min(value = 1800, message = "Year must be after 1800")
     @Max(value = 2100, message = "Year must be before 2100")
@@ -71,9 +83,7 @@ public class Organization {
     @PreUpdate
     public void normalizeOrganizationName() {
         if (organizationName != null) {
-            this.normalizedOrganizationName = organizationName
-                    .toLowerCase()
-                    .replaceAll("[^a-z0-9]", "");
+            this.normalizedOrganizationName = TextNormalizer.normalize(organizationName);
         }
     }
 }
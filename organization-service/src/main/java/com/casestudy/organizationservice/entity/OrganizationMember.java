@@ -1,5 +1,6 @@
 package com.casestudy.organizationservice.entity;
 
+import com.casestudy.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,8 +15,8 @@ import java.util.UUID;
         name = "organization_members",
         uniqueConstraints = @UniqueConstraint(columnNames = {"organization_id", "user_id"}),
         indexes = {
-                @Index(name = "idx_org_member_org_id", columnList = "organization_id"),
-                @Index(name = "idx_org_member_user_id", columnList = "user_id")
+                @Index(name = "idx_org_member_org_created", columnList = "organization_id, created_at, user_id"),
+                @Index(name = "idx_org_member_user_org", columnList = "user_id, organization_id")
         }
 )
 @Getter
@@ -23,7 +24,7 @@ import java.util.UUID;
 public class OrganizationMember {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "organization_id", nullable = false)
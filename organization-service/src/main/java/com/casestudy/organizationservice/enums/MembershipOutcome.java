@@ -0,0 +1,8 @@
+package com.casestudy.organizationservice.enums;
+
+public enum MembershipOutcome {
+    ADDED,
+    ALREADY_MEMBER,
+    DUPLICATE_IN_REQUEST,
+    CAPACITY_EXCEEDED
+}
@@ -1,20 +1,60 @@
 package com.casestudy.organizationservice.repository;
 
+import com.casestudy.organizationservice.dto.MemberSummary;
 import com.casestudy.organizationservice.entity.OrganizationMember;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
-public interface OrganizationMemberRepository extends JpaRepository<OrganizationMember, UUID> {
+public interface OrganizationMemberRepository extends JpaRepository<OrganizationMember, UUID>, OrganizationMemberRepositoryCustom {
     boolean existsByOrganizationIdAndUserId(UUID organizationId, UUID userId);
 
-    List<OrganizationMember> findByOrganizationId(UUID organizationId);
-
-    void deleteByOrganizationIdAndUserId(UUID organizationId, UUID userId);
-
-    List<OrganizationMember> findByUserId(UUID userId);
+    @Query("SELECT m.userId FROM OrganizationMember m WHERE m.organizationId = :orgId")
+    List<UUID> findUserIdsByOrganizationId(@Param("orgId") UUID organizationId);
+
+    /**
+     * First roster page in join order; {@code user_id} breaks ties between members added by the same batch.
+     * Served by {@code idx_org_member_org_created}.
+     */
+    @Query("""
+            SELECT new com.casestudy.organizationservice.dto.MemberSummary(m.userId, m.createdAt)
+            FROM OrganizationMember m
+            WHERE m.organizationId = :orgId
+            ORDER BY m.createdAt, m.userId
+            """)
+    List<MemberSummary> findRoster(@Param("orgId") UUID organizationId, Limit limit);
+
+    /**
+     * Roster page after the given member. The row-value comparison lets PostgreSQL seek straight to the cursor in
+     * {@code idx_org_member_org_created}, ties on {@code created_at} included.
+     */
+    @Query("""
+            SELECT new com.casestudy.organizationservice.dto.MemberSummary(m.userId, m.createdAt)
+            FROM OrganizationMember m
+            WHERE m.organizationId = :orgId
+              AND (m.createdAt, m.userId) > (:createdAt, :userId)
+            ORDER BY m.createdAt, m.userId
+            """)
+    List<MemberSummary> findRosterAfter(@Param("orgId") UUID organizationId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("userId") UUID userId,
+                                        Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OrganizationMember m WHERE m.organizationId = :orgId AND m.userId = :userId")
+    int deleteMember(@Param("orgId") UUID organizationId, @Param("userId") UUID userId);
 
     long countByOrganizationId(UUID organizationId);
 
+    @Query("SELECT m.userId FROM OrganizationMember m WHERE m.organizationId = :orgId AND m.userId IN :userIds")
+    Set<UUID> findMemberUserIds(@Param("orgId") UUID organizationId, @Param("userIds") Collection<UUID> userIds);
+
 }
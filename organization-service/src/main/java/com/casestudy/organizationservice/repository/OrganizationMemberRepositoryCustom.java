@@ -0,0 +1,12 @@
+package com.casestudy.organizationservice.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OrganizationMemberRepositoryCustom {
+
+    /**
+     * Inserts one membership row per user with JDBC batching, bypassing the persistence context.
+     */
+    void insertMembers(UUID organizationId, List<UUID> userIds);
+}
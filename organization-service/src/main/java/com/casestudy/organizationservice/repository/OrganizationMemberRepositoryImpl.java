@@ -0,0 +1,35 @@
+package com.casestudy.organizationservice.repository;
+
+import com.casestudy.common.id.TimeOrderedUuid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class OrganizationMemberRepositoryImpl implements OrganizationMemberRepositoryCustom {
+
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String INSERT_MEMBER = """
+            INSERT INTO organization_members (id, organization_id, user_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertMembers(UUID organizationId, List<UUID> userIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_MEMBER, userIds, JDBC_BATCH_SIZE, (ps, userId) -> {
+            ps.setObject(1, TimeOrderedUuid.next());
+            ps.setObject(2, organizationId);
+            ps.setObject(3, userId);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+    }
+}
@@ -1,13 +1,100 @@
 package com.casestudy.organizationservice.repository;
 
 import com.casestudy.organizationservice.entity.Organization;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface OrganizationRepository extends JpaRepository<Organization, UUID> {
 
-    List<Organization> findByOrganizationNameContainingIgnoreCase(String name);
+    /**
+     * Prefix match for queries too short for trigrams; served by {@code idx_org_normalized_name_pattern}.
+     */
+    @Query(value = """
+            SELECT * FROM organizations
+            WHERE normalized_organization_name LIKE :prefix || '%'
+            ORDER BY normalized_organization_name
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Organization> findByNormalizedNamePrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    /**
+     * Substring and typo-tolerant match served by {@code idx_org_normalized_name_trgm}. Prefix hits rank first,
+     * then substring hits, then fuzzy hits, each by trigram word similarity.
+     */
+    @Query(value = """
+            SELECT * FROM organizations
+            WHERE normalized_organization_name LIKE '%' || :query || '%'
+               OR :query <% normalized_organization_name
+            ORDER BY
+                CASE
+                    WHEN normalized_organization_name LIKE :query || '%' THEN 0
+                    WHEN normalized_organization_name LIKE '%' || :query || '%' THEN 1
+                    ELSE 2
+                END,
+                word_similarity(:query, normalized_organization_name) DESC,
+                length(normalized_organization_name)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Organization> searchByNormalizedName(@Param("query") String query, @Param("limit") int limit);
+
+    Window<Organization> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("""
+            SELECT o FROM Organization o
+            JOIN OrganizationMember m ON m.organizationId = o.id
+            WHERE m.userId = :userId
+            """)
+    List<Organization> findByMemberUserId(@Param("userId") UUID userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Organization o WHERE o.id = :id")
+    Optional<Organization> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Takes one seat if the organization still has capacity. Returns 0 when it is full or does not exist.
+     */
+    @Modifying
+    @Query("UPDATE Organization o SET o.memberCount = o.memberCount + 1 WHERE o.id = :id AND o.memberCount < o.companySize")
+    int reserveSeat(@Param("id") UUID id);
+
+    /**
+     * Returns 0 when the organization does not exist or the count would drop below zero, which means it had drifted
+     * from the member rows.
+     */
+    @Modifying
+    @Query("UPDATE Organization o SET o.memberCount = o.memberCount + :delta WHERE o.id = :id AND o.memberCount + :delta >= 0")
+    int adjustMemberCount(@Param("id") UUID id, @Param("delta") int delta);
+
+    /**
+     * Blocks every write to organizations, including seat reservations and row locks, until the transaction ends;
+     * plain reads continue.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE organizations IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockAgainstWrites();
+
+    /**
+     * Sets {@code member_count} from the member rows where the two disagree, e.g. on rows that predate the column.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE organizations o SET member_count = c.members
+            FROM (SELECT o2.id, (SELECT count(*) FROM organization_members m WHERE m.organization_id = o2.id) AS members
+                  FROM organizations o2) c
+            WHERE o.id = c.id AND o.member_count <> c.members
+            """, nativeQuery = true)
+    int recalculateMemberCounts();
 
 }
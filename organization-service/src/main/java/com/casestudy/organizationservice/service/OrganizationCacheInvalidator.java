@@ -0,0 +1,74 @@
+package com.casestudy.organizationservice.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evicts organization cache entries once the change that made them stale has committed, and again
+ * {@code organizations.cache.second-eviction-delay-ms} later: a reader that loaded the row before the commit can put
+ * the old row back after the first eviction, and only a read slower than the delay survives the second. Changes are
+ * also forwarded to other instances when a {@link PeerCacheInvalidationNotifier} is enabled.
+ */
+@Component
+public class OrganizationCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<PeerCacheInvalidationNotifier> peerNotifier;
+    private final long secondEvictionDelayMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "organization-cache-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrganizationCacheInvalidator(CacheManager cacheManager,
+                                        ObjectProvider<PeerCacheInvalidationNotifier> peerNotifier,
+                                        @Value("${organizations.cache.second-eviction-delay-ms:1000}") long secondEvictionDelayMs) {
+        this.cacheManager = cacheManager;
+        this.peerNotifier = peerNotifier;
+        this.secondEvictionDelayMs = secondEvictionDelayMs;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        evictLocally(event.organizationId(), event.membersOnly());
+        peerNotifier.ifAvailable(notifier -> notifier.broadcast(event.organizationId(), event.membersOnly()));
+    }
+
+    /**
+     * Member changes leave the cached capacity data valid, so {@code membersOnly} keeps it.
+     */
+    public void evictLocally(UUID organizationId, boolean membersOnly) {
+        evict(organizationId, membersOnly);
+        scheduler.schedule(() -> evict(organizationId, membersOnly), secondEvictionDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void evict(UUID organizationId, boolean membersOnly) {
+        evict(OrganizationService.ORGANIZATIONS_CACHE, organizationId);
+        if (!membersOnly) {
+            evict(OrganizationService.CAPACITY_CACHE, organizationId);
+        }
+    }
+
+    private void evict(String cacheName, UUID organizationId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(organizationId);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.casestudy.organizationservice.service;
+
+import java.util.UUID;
+
+/**
+ * Published when an organization changes. {@code membersOnly} marks changes that only touched its members, which
+ * leave the cached capacity data valid.
+ */
+public record OrganizationChangedEvent(UUID organizationId, boolean membersOnly) {
+}
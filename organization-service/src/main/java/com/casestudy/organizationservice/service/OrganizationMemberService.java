@@ -1,24 +1,45 @@
 package com.casestudy.organizationservice.service;
 
+import com.casestudy.organizationservice.dto.BatchMembershipResponse;
+import com.casestudy.organizationservice.dto.CursorPage;
+import com.casestudy.organizationservice.dto.MemberSummary;
+import com.casestudy.organizationservice.dto.OrganizationCapacity;
+import com.casestudy.organizationservice.dto.PageCursor;
 import com.casestudy.organizationservice.entity.Organization;
 import com.casestudy.organizationservice.entity.OrganizationMember;
+import com.casestudy.organizationservice.enums.MembershipOutcome;
 import com.casestudy.organizationservice.repository.OrganizationMemberRepository;
 import com.casestudy.organizationservice.repository.OrganizationRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
+@Slf4j
 public class OrganizationMemberService {
 
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final OrganizationMemberRepository orgMemRepo;
     private final OrganizationRepository orgRepo;
+    private final OrganizationService organizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void addMember(UUID orgId, UUID userId) {
@@ -26,16 +47,12 @@ public class OrganizationMemberService {
             throw new IllegalArgumentException("User is already a member of this organization.");
         }
 
-        Organization organization = orgRepo.findById(orgId)
-                .orElseThrow(() -> new EntityNotFoundException("Organization not found: " + orgId));
-
-        long currentCount = orgMemRepo.countByOrganizationId(orgId);
-
-        if (currentCount >= organization.getCompanySize()) {
+        if (orgRepo.reserveSeat(orgId) == 0) {
+            OrganizationCapacity capacity = organizationService.getCapacity(orgId);
             throw new IllegalStateException(String.format(
                     "Organization '%s' has reached its member limit (%d members).",
-                    organization.getOrganizationName(),
-                    organization.getCompanySize()
+                    capacity.organizationName(),
+                    capacity.companySize()
             ));
         }
 
@@ -43,24 +60,91 @@ public class OrganizationMemberService {
         member.setOrganizationId(orgId);
         member.setUserId(userId);
         orgMemRepo.save(member);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(orgId, true));
+    }
+
+    /**
+     * Adds many users in one transaction: one locked organization lookup, one existing-member query and a batched
+     * insert. Users beyond the remaining capacity are reported rather than failing the whole batch.
+     */
+    @Transactional
+    public BatchMembershipResponse addMembers(UUID orgId, List<UUID> userIds) {
+        if (userIds == null || userIds.isEmpty() || userIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " user IDs.");
+        }
+        if (userIds.contains(null)) {
+            throw new IllegalArgumentException("User IDs cannot be null.");
+        }
+
+        Organization organization = orgRepo.findByIdForUpdate(orgId)
+                .orElseThrow(() -> new EntityNotFoundException("Organization not found: " + orgId));
+
+        Set<UUID> existing = orgMemRepo.findMemberUserIds(orgId, new HashSet<>(userIds));
+        long remaining = organization.getCompanySize() - organization.getMemberCount();
+
+        Set<UUID> seen = new HashSet<>();
+        List<UUID> toInsert = new ArrayList<>();
+        List<BatchMembershipResponse.Result> results = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            MembershipOutcome outcome;
+            if (!seen.add(userId)) {
+                outcome = MembershipOutcome.DUPLICATE_IN_REQUEST;
+            } else if (existing.contains(userId)) {
+                outcome = MembershipOutcome.ALREADY_MEMBER;
+            } else if (toInsert.size() < remaining) {
+                toInsert.add(userId);
+                outcome = MembershipOutcome.ADDED;
+            } else {
+                outcome = MembershipOutcome.CAPACITY_EXCEEDED;
+            }
+            results.add(new BatchMembershipResponse.Result(userId, outcome));
+        }
+
+        if (!toInsert.isEmpty()) {
+            orgMemRepo.insertMembers(orgId, toInsert);
+            if (orgRepo.adjustMemberCount(orgId, toInsert.size()) == 0) {
+                throw new IllegalStateException("Could not update the member count of organization " + orgId);
+            }
+            eventPublisher.publishEvent(new OrganizationChangedEvent(orgId, true));
+        }
+        return new BatchMembershipResponse(orgId, toInsert.size(), results);
     }
 
     @Transactional(readOnly = true)
     public List<UUID> listUserIds(UUID orgId) {
-        return orgMemRepo.findByOrganizationId(orgId)
-                .stream()
-                .map(OrganizationMember::getUserId)
-                .collect(Collectors.toList());
+        return orgMemRepo.findUserIdsByOrganizationId(orgId);
+    }
+
+    /**
+     * One page of the roster in join order, read as projections so large organizations never load member entities.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MemberSummary> listMembers(UUID orgId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<MemberSummary> rows = after == null
+                ? orgMemRepo.findRoster(orgId, limit)
+                : orgMemRepo.findRosterAfter(orgId, after.createdAt(), after.id(), limit);
+        boolean hasMore = rows.size() > size;
+        List<MemberSummary> items = hasMore ? rows.subList(0, size) : rows;
+        return CursorPage.of(Window.from(items, ScrollPosition::offset, hasMore),
+                m -> new PageCursor(m.joinedAt(), m.userId()));
     }
 
     @Transactional
     public void removeMember(UUID orgId, UUID userId) {
-        boolean exists = orgMemRepo.existsByOrganizationIdAndUserId(orgId, userId);
-        if (!exists) {
+        if (orgMemRepo.deleteMember(orgId, userId) == 0) {
             throw new EntityNotFoundException(
                     String.format("User %s not found in organization %s", userId, orgId)
             );
         }
-        orgMemRepo.deleteByOrganizationIdAndUserId(orgId, userId);
+        if (orgRepo.adjustMemberCount(orgId, -1) == 0) {
+            // The member row existed, so the count had drifted; MemberCountBackfill corrects it on the next startup
+            log.error("member_count of organization {} was already 0 when removing user {}", orgId, userId);
+        }
+        eventPublisher.publishEvent(new OrganizationChangedEvent(orgId, true));
     }
 }
@@ -1,39 +1,93 @@
 package com.casestudy.organizationservice.service;
 
+import com.casestudy.common.datasource.ReplicaLagTolerance;
+import com.casestudy.common.text.TextNormalizer;
+import com.casestudy.organizationservice.dto.BatchGetResponse;
+import com.casestudy.organizationservice.dto.CursorPage;
+import com.casestudy.organizationservice.dto.OrganizationCapacity;
+import com.casestudy.organizationservice.dto.PageCursor;
 import com.casestudy.organizationservice.entity.Organization;
-import com.casestudy.organizationservice.entity.OrganizationMember;
-import com.casestudy.organizationservice.repository.OrganizationMemberRepository;
 import com.casestudy.organizationservice.repository.OrganizationRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 public class OrganizationService {
 
+    public static final String ORGANIZATIONS_CACHE = "organizations";
+    public static final String CAPACITY_CACHE = "organizationCapacity";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MIN_TRIGRAM_QUERY_LENGTH = 3;
+    private static final int MAX_BATCH_GET_SIZE = 1000;
+
     private final OrganizationRepository repository;
-    private final OrganizationMemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public List<Organization> getAll() {
-        return repository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<Organization> getAll(String cursor, int size, Sort.Direction direction) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Window<Organization> window = repository.findBy(PageCursor.positionOf(cursor), PageCursor.sort(direction), Limit.of(size));
+        return CursorPage.of(window, o -> new PageCursor(o.getCreatedAt(), o.getId()));
     }
 
+    @Cacheable(cacheNames = ORGANIZATIONS_CACHE, key = "#id")
     public Organization getById(UUID id) {
         return repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Organization not found: " + id));
     }
 
+    /**
+     * Looks up to {@value #MAX_BATCH_GET_SIZE} organizations with one query, bypassing the per-organization cache.
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse<Organization> getByIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_GET_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_GET_SIZE + " IDs.");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("IDs cannot be null.");
+        }
+        return BatchGetResponse.of(ids, repository.findAllById(new LinkedHashSet<>(ids)), Organization::getId);
+    }
+
+    /**
+     * Cached existence and capacity check for the membership endpoints. Unlike {@link #getById}, the entry
+     * survives membership changes since it carries no member count. Read from the primary, so an organization
+     * created a moment ago is already found.
+     */
+    @Cacheable(cacheNames = CAPACITY_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    @ReplicaLagTolerance(maxLagMs = 0)
+    public OrganizationCapacity getCapacity(UUID id) {
+        return repository.findById(id)
+                .map(OrganizationCapacity::of)
+                .orElseThrow(() -> new EntityNotFoundException("Organization not found: " + id));
+    }
+
     public Organization create(Organization organization) {
         return repository.save(organization);
     }
 
     public void delete(UUID id) {
         repository.deleteById(id);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(id, false));
     }
 
     @Transactional
@@ -46,20 +100,29 @@ public class OrganizationService {
         existing.setContactEmail(updated.getContactEmail());
         existing.setCompanySize(updated.getCompanySize());
         existing.setYearFounded(updated.getYearFounded());
-        return repository.save(existing);
+        Organization saved = repository.save(existing);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(id, false));
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    public List<Organization> searchByName(String name) {
-        return repository.findByOrganizationNameContainingIgnoreCase(name);
+    @ReplicaLagTolerance(maxLagMs = 10_000)
+    public List<Organization> searchByName(String name, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String query = TextNormalizer.normalize(name);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        if (query.length() < MIN_TRIGRAM_QUERY_LENGTH) {
+            return repository.findByNormalizedNamePrefix(query, limit);
+        }
+        return repository.searchByNormalizedName(query, limit);
     }
 
     @Transactional(readOnly = true)
     public List<Organization> getByUserId(UUID userId) {
-        List<UUID> orgIds = memberRepository.findByUserId(userId)
-                .stream()
-                .map(OrganizationMember::getOrganizationId)
-                .toList();
-        return repository.findAllById(orgIds);
+        return repository.findByMemberUserId(userId);
     }
 }
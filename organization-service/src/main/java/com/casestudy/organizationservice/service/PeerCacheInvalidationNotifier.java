@@ -0,0 +1,118 @@
+package com.casestudy.organizationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tells the other registered instances of this service to drop an organization from their caches. Best effort:
+ * an instance that misses the call serves the old entry until it expires.
+ * <p>
+ * Calls run in parallel on {@code organizations.cache.peer-invalidation.threads} threads of their own, so the request
+ * that made the change never waits on a peer. When {@code queue-size} calls are already waiting, further ones are
+ * dropped. Every call is counted as {@code organizations.cache.peer.invalidations} by {@code outcome}
+ * ({@code success}, {@code failed}, {@code dropped}).
+ */
+@Component
+@ConditionalOnProperty(name = "organizations.cache.peer-invalidation.enabled", havingValue = "true")
+@Slf4j
+public class PeerCacheInvalidationNotifier {
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final RestClient restClient;
+    private final String serviceId;
+    private final ThreadPoolExecutor sender;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public PeerCacheInvalidationNotifier(DiscoveryClient discoveryClient,
+                                         ObjectProvider<Registration> registration,
+                                         RestClient.Builder restClientBuilder,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${spring.application.name}") String serviceId,
+                                         @Value("${organizations.cache.peer-invalidation.timeout-ms:500}") long timeoutMs,
+                                         @Value("${organizations.cache.peer-invalidation.threads:4}") int threads,
+                                         @Value("${organizations.cache.peer-invalidation.queue-size:1000}") int queueSize) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(timeoutMs));
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.serviceId = serviceId;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), task -> {
+                    Thread thread = new Thread(task, "organization-cache-peer-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.succeeded = invalidationCounter(meterRegistry, "success");
+        this.failed = invalidationCounter(meterRegistry, "failed");
+        this.dropped = invalidationCounter(meterRegistry, "dropped");
+    }
+
+    public void broadcast(UUID organizationId, boolean membersOnly) {
+        Registration self = registration.getIfAvailable();
+        String selfId = self != null ? self.getInstanceId() : null;
+        for (ServiceInstance peer : discoveryClient.getInstances(serviceId)) {
+            if (peer.getInstanceId() != null && peer.getInstanceId().equals(selfId)) {
+                continue;
+            }
+            try {
+                sender.execute(() -> invalidate(peer, organizationId, membersOnly));
+            } catch (RejectedExecutionException e) {
+                dropped.increment();
+                log.warn("Too many pending cache invalidations, not invalidating organization {} on {}",
+                        organizationId, peer.getUri());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void invalidate(ServiceInstance peer, UUID organizationId, boolean membersOnly) {
+        try {
+            restClient.delete()
+                    .uri(peer.getUri() + "/internal/cache/organizations/{id}?membersOnly={membersOnly}",
+                            organizationId, membersOnly)
+                    .retrieve()
+                    .toBodilessEntity();
+            succeeded.increment();
+        } catch (RestClientException e) {
+            failed.increment();
+            log.warn("Could not invalidate organization {} on {}: {}", organizationId, peer.getUri(), e.getMessage());
+        }
+    }
+
+    private static Counter invalidationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("organizations.cache.peer.invalidations")
+                .description("Cache invalidations sent to other instances")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
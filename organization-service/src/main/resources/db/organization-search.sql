@@ -0,0 +1,14 @@
+-- Indexes for OrganizationRepository.searchByNormalizedName / findByNormalizedNamePrefix.
+-- Run after Hibernate has created the tables (spring.jpa.defer-datasource-initialization=true).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_org_normalized_name_trgm
+    ON organizations USING gin (normalized_organization_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_org_normalized_name_pattern
+    ON organizations (normalized_organization_name text_pattern_ops);
+
+-- Superseded by idx_org_member_org_created and idx_org_member_user_org, which also cover the roster and
+-- organizations-by-user queries; ddl-auto=update adds the new indexes but never drops the old ones.
+DROP INDEX IF EXISTS idx_org_member_org_id;
+DROP INDEX IF EXISTS idx_org_member_user_id;
@@ -0,0 +1,56 @@
+package com.casestudy.organizationservice.controller;
+
+import com.casestudy.organizationservice.dto.OrganizationCapacity;
+import com.casestudy.organizationservice.repository.OrganizationMemberRepository;
+import com.casestudy.organizationservice.repository.OrganizationRepository;
+import com.casestudy.organizationservice.service.OrganizationMemberService;
+import com.casestudy.organizationservice.service.OrganizationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OrganizationControllerTest {
+
+	private static final UUID ORGANIZATION = UUID.randomUUID();
+
+	private final OrganizationService organizationService = mock(OrganizationService.class);
+
+	private final OrganizationRepository organizationRepository = mock(OrganizationRepository.class);
+
+	private final MockMvc mockMvc = MockMvcBuilders
+			.standaloneSetup(new OrganizationController(organizationService,
+					new OrganizationMemberService(mock(OrganizationMemberRepository.class), organizationRepository,
+							organizationService, mock(ApplicationEventPublisher.class))))
+			.setControllerAdvice(new GlobalExceptionHandler())
+			.build();
+
+	@Test
+	void answersConflictWhenTheOrganizationIsFull() throws Exception {
+		when(organizationService.getCapacity(any())).thenReturn(new OrganizationCapacity(ORGANIZATION, "Acme", 1));
+		when(organizationRepository.reserveSeat(ORGANIZATION)).thenReturn(0);
+
+		mockMvc.perform(post("/api/organizations/{orgId}/members", ORGANIZATION).param("userId", UUID.randomUUID().toString()))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.error").value("Organization 'Acme' has reached its member limit (1 members)."));
+	}
+
+	@Test
+	void rejectsANullUserIdInABatch() throws Exception {
+		mockMvc.perform(post("/api/organizations/{orgId}/members/batch", ORGANIZATION)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"userIds\": [\"" + UUID.randomUUID() + "\", null]}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("User IDs cannot be null."));
+	}
+}
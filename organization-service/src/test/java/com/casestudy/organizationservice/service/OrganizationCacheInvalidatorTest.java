@@ -0,0 +1,63 @@
+package com.casestudy.organizationservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class OrganizationCacheInvalidatorTest {
+
+	private static final UUID ORGANIZATION = UUID.randomUUID();
+
+	private final ConcurrentMapCacheManager cacheManager =
+			new ConcurrentMapCacheManager(OrganizationService.ORGANIZATIONS_CACHE, OrganizationService.CAPACITY_CACHE);
+
+	private final PeerCacheInvalidationNotifier peerNotifier = mock(PeerCacheInvalidationNotifier.class);
+
+	private final OrganizationCacheInvalidator invalidator = new OrganizationCacheInvalidator(cacheManager,
+			new StaticListableBeanFactory(Map.of("peerNotifier", peerNotifier))
+					.getBeanProvider(PeerCacheInvalidationNotifier.class), 500);
+
+	@AfterEach
+	void shutdown() {
+		invalidator.shutdown();
+	}
+
+	@Test
+	void evictsAgainAfterAReaderCachedTheOldRow() throws InterruptedException {
+		invalidator.onOrganizationChanged(new OrganizationChangedEvent(ORGANIZATION, false));
+		// A read that started before the commit finishes after the first eviction
+		cache(OrganizationService.ORGANIZATIONS_CACHE).put(ORGANIZATION, "old row");
+		cache(OrganizationService.CAPACITY_CACHE).put(ORGANIZATION, "old capacity");
+
+		Thread.sleep(1500);
+
+		assertNull(cache(OrganizationService.ORGANIZATIONS_CACHE).get(ORGANIZATION));
+		assertNull(cache(OrganizationService.CAPACITY_CACHE).get(ORGANIZATION));
+	}
+
+	@Test
+	void memberChangesKeepTheCapacityAndReachPeers() {
+		cache(OrganizationService.ORGANIZATIONS_CACHE).put(ORGANIZATION, "row");
+		cache(OrganizationService.CAPACITY_CACHE).put(ORGANIZATION, "capacity");
+
+		invalidator.onOrganizationChanged(new OrganizationChangedEvent(ORGANIZATION, true));
+
+		assertNull(cache(OrganizationService.ORGANIZATIONS_CACHE).get(ORGANIZATION));
+		assertNotNull(cache(OrganizationService.CAPACITY_CACHE).get(ORGANIZATION));
+		verify(peerNotifier).broadcast(ORGANIZATION, true);
+	}
+
+	private Cache cache(String name) {
+		return cacheManager.getCache(name);
+	}
+}
@@ -0,0 +1,91 @@
+package com.casestudy.organizationservice.service;
+
+import com.casestudy.organizationservice.dto.CursorPage;
+import com.casestudy.organizationservice.dto.MemberSummary;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pages through {@link OrganizationMemberService#listMembers} against a real PostgreSQL instance.
+ */
+@SpringBootTest(properties = {
+		"eureka.client.enabled=false",
+		"spring.cloud.compatibility-verifier.enabled=false",
+		"spring.jpa.show-sql=false"
+})
+class OrganizationMemberRosterTest {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private OrganizationMemberService memberService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgres.start();
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
+	@Test
+	void pageBoundaryInsideMembersJoinedAtTheSameTime() {
+		UUID organizationId = UUID.randomUUID();
+		LocalDateTime batchJoinedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+		List<MemberSummary> expected = new ArrayList<>();
+		expected.add(insertMember(organizationId, batchJoinedAt.minusMinutes(1)));
+		List<MemberSummary> batch = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			batch.add(insertMember(organizationId, batchJoinedAt));
+		}
+		// PostgreSQL orders uuids by their unsigned bytes, unlike UUID.compareTo
+		batch.sort(Comparator.comparing(member -> member.userId().toString()));
+		expected.addAll(batch);
+		expected.add(insertMember(organizationId, batchJoinedAt.plusMinutes(1)));
+
+		List<MemberSummary> seen = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String cursor = null;
+		CursorPage<MemberSummary> page;
+		do {
+			page = memberService.listMembers(organizationId, cursor, 2);
+			seen.addAll(page.items());
+			pageSizes.add(page.items().size());
+			cursor = page.nextCursor();
+		} while (page.hasMore());
+
+		assertEquals(List.of(2, 2, 1), pageSizes);
+		assertEquals(expected, seen);
+	}
+
+	private MemberSummary insertMember(UUID organizationId, LocalDateTime joinedAt) {
+		UUID userId = UUID.randomUUID();
+		jdbcTemplate.update("""
+				INSERT INTO organization_members (id, organization_id, user_id, created_at, updated_at)
+				VALUES (?, ?, ?, ?, ?)
+				""", UUID.randomUUID(), organizationId, userId, Timestamp.valueOf(joinedAt), Timestamp.valueOf(joinedAt));
+		return new MemberSummary(userId, joinedAt);
+	}
+}
@@ -0,0 +1,176 @@
+package com.casestudy.organizationservice.service;
+
+import com.casestudy.organizationservice.config.MemberCountBackfill;
+import com.casestudy.organizationservice.entity.Organization;
+import com.casestudy.organizationservice.repository.OrganizationMemberRepository;
+import com.casestudy.organizationservice.repository.OrganizationRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers {@link OrganizationMemberService#addMember} from many threads against a real PostgreSQL instance.
+ */
+@SpringBootTest(properties = {
+		"eureka.client.enabled=false",
+		"spring.cloud.compatibility-verifier.enabled=false",
+		"spring.jpa.show-sql=false",
+		"spring.datasource.hikari.maximum-pool-size=20"
+})
+class OrganizationMemberServiceConcurrencyTest {
+
+	private static final int THREADS = 16;
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private OrganizationService organizationService;
+
+	@Autowired
+	private OrganizationMemberService memberService;
+
+	@Autowired
+	private OrganizationRepository organizationRepository;
+
+	@Autowired
+	private OrganizationMemberRepository memberRepository;
+
+	@Autowired
+	private MemberCountBackfill memberCountBackfill;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgres.start();
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
+	@Test
+	void parallelAddsNeverExceedCompanySize() throws Exception {
+		int companySize = 25;
+		int attempts = 400;
+		Organization organization = createOrganization(companySize);
+
+		AtomicInteger added = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		runConcurrently(attempts, i -> {
+			try {
+				memberService.addMember(organization.getId(), UUID.randomUUID());
+				added.incrementAndGet();
+			} catch (IllegalStateException e) {
+				rejected.incrementAndGet();
+			}
+		});
+
+		assertEquals(companySize, added.get());
+		assertEquals(attempts - companySize, rejected.get());
+		assertEquals(companySize, memberRepository.countByOrganizationId(organization.getId()));
+		assertEquals(companySize, reload(organization).getMemberCount());
+	}
+
+	@Test
+	void removingMemberFreesSeat() {
+		Organization organization = createOrganization(1);
+		UUID first = UUID.randomUUID();
+		memberService.addMember(organization.getId(), first);
+
+		memberService.removeMember(organization.getId(), first);
+		memberService.addMember(organization.getId(), UUID.randomUUID());
+
+		assertEquals(1, memberRepository.countByOrganizationId(organization.getId()));
+		assertEquals(1, reload(organization).getMemberCount());
+	}
+
+	@Test
+	void backfillCorrectsDriftedCountsOnlyOnce() {
+		Organization organization = createOrganization(5);
+		memberService.addMember(organization.getId(), UUID.randomUUID());
+		memberService.addMember(organization.getId(), UUID.randomUUID());
+		// As after adding the column to an existing table
+		jdbcTemplate.update("UPDATE organizations SET member_count = 0 WHERE id = ?", organization.getId());
+
+		memberCountBackfill.run(null);
+		assertEquals(2, reload(organization).getMemberCount());
+
+		Integer updatedAgain = new TransactionTemplate(transactionManager)
+				.execute(status -> organizationRepository.recalculateMemberCounts());
+		assertEquals(0, updatedAgain);
+	}
+
+	@Test
+	void removingFromADriftedCountStillRemovesTheMember() {
+		Organization organization = createOrganization(5);
+		UUID userId = UUID.randomUUID();
+		memberService.addMember(organization.getId(), userId);
+		jdbcTemplate.update("UPDATE organizations SET member_count = 0 WHERE id = ?", organization.getId());
+
+		memberService.removeMember(organization.getId(), userId);
+
+		assertEquals(0, memberRepository.countByOrganizationId(organization.getId()));
+		assertEquals(0, reload(organization).getMemberCount());
+	}
+
+	private void runConcurrently(int tasks, IntTask task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < tasks; i++) {
+				int index = i;
+				futures.add(executor.submit(() -> task.run(index)));
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Organization createOrganization(int companySize) {
+		Organization organization = new Organization();
+		organization.setOrganizationName("Stress Test Org");
+		organization.setRegistryNumber("STRESS-" + UUID.randomUUID().toString().toUpperCase());
+		organization.setContactEmail("stress@example.com");
+		organization.setCompanySize(companySize);
+		organization.setYearFounded(2020);
+		return organizationService.create(organization);
+	}
+
+	private Organization reload(Organization organization) {
+		return organizationRepository.findById(organization.getId()).orElseThrow();
+	}
+
+	@FunctionalInterface
+	private interface IntTask {
+		void run(int index);
+	}
+}
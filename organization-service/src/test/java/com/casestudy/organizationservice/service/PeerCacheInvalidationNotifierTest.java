@@ -0,0 +1,127 @@
+package com.casestudy.organizationservice.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PeerCacheInvalidationNotifierTest {
+
+	private static final String SERVICE_ID = "organization-service";
+
+	private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final HttpServer slowPeer = startSlowPeer();
+
+	private final PeerCacheInvalidationNotifier notifier = new PeerCacheInvalidationNotifier(discoveryClient,
+			new StaticListableBeanFactory().getBeanProvider(Registration.class), RestClient.builder(), meterRegistry,
+			SERVICE_ID, 2000, 2, 1);
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		notifier.shutdown();
+		slowPeer.stop(0);
+	}
+
+	@Test
+	void callsPeersInParallelWithoutHoldingTheCaller() throws Exception {
+		when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(List.of(
+				peer("slow", slowPeer.getAddress().getPort()),
+				peer("down", unusedPort())));
+
+		long startNanos = System.nanoTime();
+		notifier.broadcast(UUID.randomUUID(), true);
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 500,
+				"broadcast waited for its peers");
+
+		// The unreachable peer fails while the slow one is still answering
+		await(() -> count("failed") == 1);
+		assertEquals(0, count("success"));
+		release.countDown();
+		await(() -> count("success") == 1);
+	}
+
+	@Test
+	void dropsCallsBeyondTheQueue() throws Exception {
+		when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(List.of(peer("slow", slowPeer.getAddress().getPort())));
+
+		// Two threads busy and one call queued; the fourth has nowhere to go
+		for (int i = 0; i < 4; i++) {
+			notifier.broadcast(UUID.randomUUID(), false);
+		}
+
+		assertEquals(1, count("dropped"));
+		release.countDown();
+		await(() -> count("success") == 3);
+	}
+
+	private HttpServer startSlowPeer() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/internal/cache/organizations", exchange -> {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				// One connection per call, so no call lands on a connection the server is closing
+				exchange.getResponseHeaders().set("Connection", "close");
+				exchange.sendResponseHeaders(200, -1);
+				exchange.close();
+			});
+			server.setExecutor(Executors.newCachedThreadPool());
+			server.start();
+			return server;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static ServiceInstance peer(String instanceId, int port) {
+		return new DefaultServiceInstance(instanceId, SERVICE_ID, "localhost", port, false);
+	}
+
+	private static int unusedPort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.get("organizations.cache.peer.invalidations").tag("outcome", outcome).counter().count();
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for peer calls");
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.casestudy.common.datasource;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One replica's connection pool and its last measured replication lag. A replica that failed its last check, or
+ * has not been checked recently, counts as unavailable.
+ */
+final class ReadReplica {
+
+    static final long UNAVAILABLE = Long.MAX_VALUE;
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile long lagMs = UNAVAILABLE;
+    private volatile long checkedAtNanos;
+
+    ReadReplica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    String name() {
+        return name;
+    }
+
+    DataSource dataSource() {
+        return dataSource;
+    }
+
+    long lagMs() {
+        return lagMs;
+    }
+
+    void lagMeasured(long lagMs) {
+        this.checkedAtNanos = System.nanoTime();
+        this.lagMs = Math.max(0, lagMs);
+    }
+
+    void markUnavailable() {
+        this.lagMs = UNAVAILABLE;
+    }
+
+    boolean isWithin(long maxLagMs, long staleAfterMs) {
+        return lagMs <= maxLagMs && System.nanoTime() - checkedAtNanos <= TimeUnit.MILLISECONDS.toNanos(staleAfterMs);
+    }
+}
@@ -0,0 +1,75 @@
+package com.casestudy.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to the PostgreSQL read replicas listed in {@code datasource.replicas.urls}; with
+ * none listed this configuration stays off. Import it into a service's application class.
+ * <p>
+ * The primary pool is built from {@code spring.datasource.*} as Spring Boot would, and the replica pools reuse its
+ * {@code spring.datasource.hikari.*} settings and credentials unless {@code datasource.replicas.username} and
+ * {@code password} are set. Replica pools start lazily and never fail startup; an unreachable replica is just
+ * skipped.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfiguration {
+
+    private static final String HIKARI_PROPERTIES = "spring.datasource.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistryProvider,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.username:}") String username,
+            @Value("${datasource.replicas.password:}") String password,
+            @Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMs,
+            @Value("${datasource.replicas.check-interval-ms:1000}") long checkIntervalMs,
+            @Value("${datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMs) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind(HIKARI_PROPERTIES, Bindable.ofInstance(primary));
+
+        List<ReadReplica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            Binder.get(environment).bind(HIKARI_PROPERTIES, Bindable.ofInstance(replica));
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            replica.setPassword(StringUtils.hasText(username) ? password : properties.determinePassword());
+            replica.setReadOnly(true);
+            // A replica that is down should cost a read at most this long before it is skipped
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReadReplica(name, replica));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, maxLagMs, checkIntervalMs, meterRegistry);
+    }
+
+    @Bean
+    ReplicaLagToleranceAspect replicaLagToleranceAspect() {
+        return new ReplicaLagToleranceAspect();
+    }
+}
@@ -0,0 +1,83 @@
+package com.casestudy.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Measures how far each replica's replay is behind the primary. A replica counts as unavailable unless its WAL
+ * receiver is streaming, since a disconnected replica has replayed all it received and still falls behind; reading
+ * the receiver status takes {@code pg_read_all_stats} (or {@code pg_monitor}). A streaming replica that has replayed
+ * everything it received counts as caught up, since {@code pg_last_xact_replay_timestamp()} stops advancing while the
+ * primary is idle; a server that is not in recovery (e.g. the primary itself) counts as caught up too.
+ */
+final class ReplicaLagMonitor implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String LAG_QUERY = """
+            SELECT pg_is_in_recovery(),
+                   (SELECT status FROM pg_stat_wal_receiver),
+                   pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn(),
+                   EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+            """;
+
+    private final List<ReadReplica> replicas;
+    private boolean firstRun = true;
+
+    ReplicaLagMonitor(List<ReadReplica> replicas) {
+        this.replicas = replicas;
+    }
+
+    @Override
+    public void run() {
+        for (ReadReplica replica : replicas) {
+            check(replica);
+        }
+        firstRun = false;
+    }
+
+    private void check(ReadReplica replica) {
+        boolean wasAvailable = replica.lagMs() != ReadReplica.UNAVAILABLE;
+        try (Connection connection = replica.dataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet lag = statement.executeQuery(LAG_QUERY)) {
+            lag.next();
+            replica.lagMeasured(lagMs(lag));
+            if (!wasAvailable) {
+                log.info("Read replica {} is available, {} ms behind the primary", replica.name(), replica.lagMs());
+            }
+        } catch (Exception e) {
+            replica.markUnavailable();
+            if (wasAvailable || firstRun) {
+                log.warn("Read replica {} failed its lag check, its reads go elsewhere until it recovers: {}",
+                        replica.name(), e.getMessage());
+            }
+        }
+    }
+
+    private static long lagMs(ResultSet lag) throws SQLException {
+        if (!lag.getBoolean(1)) {
+            return 0;
+        }
+        String receiverStatus = lag.getString(2);
+        if (!"streaming".equals(receiverStatus)) {
+            throw new IllegalStateException(receiverStatus == null
+                    ? "WAL receiver is not running, or its status is hidden without pg_read_all_stats"
+                    : "WAL receiver is " + receiverStatus);
+        }
+        if (lag.getBoolean(3)) {
+            return 0;
+        }
+        long lagMs = lag.getLong(4);
+        if (lag.wasNull()) {
+            throw new IllegalStateException("No transaction replayed yet");
+        }
+        return lagMs;
+    }
+}
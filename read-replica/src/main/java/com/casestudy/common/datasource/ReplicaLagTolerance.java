@@ -0,0 +1,18 @@
+package com.casestudy.common.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * How far behind the primary a read replica may be for the read-only transactions of this method, in place of
+ * {@code datasource.replicas.max-lag-ms}. If no replica is that fresh, the method reads from the primary; {@code 0}
+ * always does. Has no effect on read-write transactions, which always use the primary.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReplicaLagTolerance {
+
+    long maxLagMs();
+}
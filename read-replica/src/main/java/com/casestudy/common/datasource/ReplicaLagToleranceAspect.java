@@ -0,0 +1,23 @@
+package com.casestudy.common.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Applies {@link ReplicaLagTolerance} for the duration of the annotated method. The transaction's connection is
+ * only fetched at its first statement, so it does not matter whether this runs inside or outside the transaction.
+ */
+@Aspect
+class ReplicaLagToleranceAspect {
+
+    @Around("@annotation(tolerance)")
+    public Object withinTolerance(ProceedingJoinPoint joinPoint, ReplicaLagTolerance tolerance) throws Throwable {
+        Long previous = ReplicaRouter.maxLagMs(tolerance.maxLagMs());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRouter.maxLagMs(previous);
+        }
+    }
+}
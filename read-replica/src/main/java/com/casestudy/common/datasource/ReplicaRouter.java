@@ -0,0 +1,105 @@
+package com.casestudy.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out the connections of read-only transactions: from the next replica, in turn, whose lag is within the
+ * tolerance of the running method ({@link ReplicaLagTolerance}, else {@code defaultMaxLagMs}), otherwise from the
+ * primary. A replica that refuses a connection is skipped until its next successful lag check.
+ */
+final class ReplicaRouter extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    private static final ThreadLocal<Long> MAX_LAG_MS = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<ReadReplica> replicas;
+    private final long defaultMaxLagMs;
+    private final long staleAfterMs;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter[] replicaReads;
+    private final Counter primaryReads;
+
+    ReplicaRouter(DataSource primary, List<ReadReplica> replicas, long defaultMaxLagMs, long staleAfterMs,
+                  MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.defaultMaxLagMs = defaultMaxLagMs;
+        this.staleAfterMs = staleAfterMs;
+        this.replicaReads = new Counter[replicas.size()];
+        for (int i = 0; i < replicas.size(); i++) {
+            ReadReplica replica = replicas.get(i);
+            replicaReads[i] = readCounter(meterRegistry, replica.name());
+            TimeGauge.builder("datasource.replica.lag", replica, TimeUnit.MILLISECONDS,
+                            r -> r.lagMs() == ReadReplica.UNAVAILABLE ? Double.NaN : r.lagMs())
+                    .description("Replication lag of a read replica at its last check; NaN while unavailable")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+        this.primaryReads = readCounter(meterRegistry, "primary");
+    }
+
+    /** Sets the lag tolerance of the current thread and returns the previous one, {@code null} for the default. */
+    static Long maxLagMs(Long maxLagMs) {
+        Long previous = MAX_LAG_MS.get();
+        if (maxLagMs == null) {
+            MAX_LAG_MS.remove();
+        } else {
+            MAX_LAG_MS.set(maxLagMs);
+        }
+        return previous;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Long override = MAX_LAG_MS.get();
+        long maxLagMs = override != null ? override : defaultMaxLagMs;
+        if (maxLagMs > 0 && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (start + i) % replicas.size();
+                ReadReplica replica = replicas.get(index);
+                if (!replica.isWithin(maxLagMs, staleAfterMs)) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource().getConnection();
+                    replicaReads[index].increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markUnavailable();
+                    log.warn("Read replica {} refused a connection, skipping it until its next lag check: {}",
+                            replica.name(), e.getMessage());
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryReads.increment();
+        return primary.getConnection(username, password);
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.read.connections")
+                .description("Connections handed to read-only transactions, by the database serving them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
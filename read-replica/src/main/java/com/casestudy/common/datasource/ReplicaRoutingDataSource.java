@@ -0,0 +1,57 @@
+package com.casestudy.common.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application's {@code DataSource} when read replicas are configured. Connections are fetched at the first
+ * statement, once the transaction has marked them read-only or not: read-write work uses the primary, read-only
+ * transactions (including the ones Spring Data opens around repository reads) a replica picked by
+ * {@link ReplicaRouter}. A background thread re-measures every replica's lag each {@code checkIntervalMs}.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final DataSource primary;
+    private final List<ReadReplica> replicas;
+    private final ScheduledExecutorService lagMonitor;
+
+    ReplicaRoutingDataSource(DataSource primary, List<ReadReplica> replicas, long defaultMaxLagMs,
+                             long checkIntervalMs, MeterRegistry meterRegistry) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        // A replica not checked for three intervals (e.g. the check hangs) no longer counts as fresh
+        setReadOnlyDataSource(new ReplicaRouter(primary, this.replicas, defaultMaxLagMs, 3 * checkIntervalMs,
+                meterRegistry));
+        this.lagMonitor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "read-replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagMonitor.scheduleWithFixedDelay(new ReplicaLagMonitor(this.replicas), 0, checkIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lagMonitor.shutdownNow();
+        for (ReadReplica replica : replicas) {
+            close(replica.dataSource());
+        }
+        close(primary);
+    }
+
+    private static void close(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
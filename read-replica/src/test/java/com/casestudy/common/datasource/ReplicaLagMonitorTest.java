@@ -0,0 +1,72 @@
+package com.casestudy.common.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+	@Test
+	void reportsTheReplayLagOfAStreamingReplica() throws SQLException {
+		assertEquals(1500, check(lag(true, "streaming", false, 1500L)));
+	}
+
+	@Test
+	void treatsAStreamingReplicaThatReplayedEverythingAsCaughtUp() throws SQLException {
+		assertEquals(0, check(lag(true, "streaming", true, 600_000L)));
+	}
+
+	@Test
+	void treatsAServerOutOfRecoveryAsCaughtUp() throws SQLException {
+		assertEquals(0, check(lag(false, null, false, null)));
+	}
+
+	@Test
+	void marksADisconnectedReplicaUnavailableEvenThoughItReplayedEverything() throws SQLException {
+		assertEquals(ReadReplica.UNAVAILABLE, check(lag(true, null, true, 600_000L)));
+	}
+
+	@Test
+	void marksAReplicaWhoseReceiverIsNotStreamingUnavailable() throws SQLException {
+		assertEquals(ReadReplica.UNAVAILABLE, check(lag(true, "waiting", true, 0L)));
+	}
+
+	@Test
+	void marksAReplicaWithoutAReplayTimestampUnavailable() throws SQLException {
+		assertEquals(ReadReplica.UNAVAILABLE, check(lag(true, "streaming", false, null)));
+	}
+
+	private static long check(ResultSet lag) throws SQLException {
+		Statement statement = mock(Statement.class);
+		when(statement.executeQuery(ReplicaLagMonitor.LAG_QUERY)).thenReturn(lag);
+		Connection connection = mock(Connection.class);
+		when(connection.createStatement()).thenReturn(statement);
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+
+		ReadReplica replica = new ReadReplica("replica-1", dataSource);
+		new ReplicaLagMonitor(List.of(replica)).run();
+		return replica.lagMs();
+	}
+
+	private static ResultSet lag(boolean inRecovery, String receiverStatus, boolean replayedAll, Long lagMs)
+			throws SQLException {
+		ResultSet lag = mock(ResultSet.class);
+		when(lag.next()).thenReturn(true);
+		when(lag.getBoolean(1)).thenReturn(inRecovery);
+		when(lag.getString(2)).thenReturn(receiverStatus);
+		when(lag.getBoolean(3)).thenReturn(replayedAll);
+		when(lag.getLong(4)).thenReturn(lagMs != null ? lagMs : 0);
+		when(lag.wasNull()).thenReturn(lagMs == null);
+		return lag;
+	}
+}
@@ -0,0 +1,111 @@
+package com.casestudy.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRouterTest {
+
+	private static final long DEFAULT_MAX_LAG_MS = 1000;
+	private static final long STALE_AFTER_MS = 60_000;
+
+	private final Connection primaryConnection = mock(Connection.class);
+	private final DataSource primary = dataSource(primaryConnection);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void resetTolerance() {
+		ReplicaRouter.maxLagMs(null);
+	}
+
+	@Test
+	void readsFromAReplicaWithinTheDefaultLag() throws SQLException {
+		Connection replicaConnection = mock(Connection.class);
+		ReadReplica replica = replica("replica-1", dataSource(replicaConnection), 200);
+
+		assertSame(replicaConnection, router(replica).getConnection());
+		assertEquals(1, meterRegistry.get("datasource.read.connections").tag("target", "replica-1").counter().count());
+	}
+
+	@Test
+	void readsFromThePrimaryWhenReplicasLagTooFar() throws SQLException {
+		ReadReplica replica = replica("replica-1", dataSource(mock(Connection.class)), 5000);
+
+		assertSame(primaryConnection, router(replica).getConnection());
+		assertEquals(1, meterRegistry.get("datasource.read.connections").tag("target", "primary").counter().count());
+	}
+
+	@Test
+	void ignoresAReplicaThatWasNeverChecked() throws SQLException {
+		ReadReplica replica = new ReadReplica("replica-1", dataSource(mock(Connection.class)));
+
+		assertSame(primaryConnection, router(replica).getConnection());
+	}
+
+	@Test
+	void appliesTheToleranceOfTheRunningMethod() throws SQLException {
+		Connection replicaConnection = mock(Connection.class);
+		ReplicaRouter router = router(replica("replica-1", dataSource(replicaConnection), 5000));
+
+		ReplicaRouter.maxLagMs(10_000L);
+		assertSame(replicaConnection, router.getConnection());
+
+		ReplicaRouter.maxLagMs(0L);
+		assertSame(primaryConnection, router.getConnection());
+	}
+
+	@Test
+	void skipsAReplicaThatRefusesConnections() throws SQLException {
+		DataSource failing = mock(DataSource.class);
+		when(failing.getConnection()).thenThrow(new SQLException("connection refused"));
+		ReadReplica down = replica("replica-1", failing, 0);
+		Connection replicaConnection = mock(Connection.class);
+		ReplicaRouter router = router(down, replica("replica-2", dataSource(replicaConnection), 0));
+
+		assertSame(replicaConnection, router.getConnection());
+		assertSame(replicaConnection, router.getConnection());
+		assertEquals(ReadReplica.UNAVAILABLE, down.lagMs());
+	}
+
+	@Test
+	void takesFreshReplicasInTurn() throws SQLException {
+		Connection first = mock(Connection.class);
+		Connection second = mock(Connection.class);
+		ReplicaRouter router = router(replica("replica-1", dataSource(first), 0),
+				replica("replica-2", dataSource(second), 0));
+
+		assertSame(first, router.getConnection());
+		assertSame(second, router.getConnection());
+		assertSame(first, router.getConnection());
+	}
+
+	private ReplicaRouter router(ReadReplica... replicas) {
+		return new ReplicaRouter(primary, List.of(replicas), DEFAULT_MAX_LAG_MS, STALE_AFTER_MS, meterRegistry);
+	}
+
+	private static ReadReplica replica(String name, DataSource dataSource, long lagMs) {
+		ReadReplica replica = new ReadReplica(name, dataSource);
+		replica.lagMeasured(lagMs);
+		return replica;
+	}
+
+	private static DataSource dataSource(Connection connection) {
+		DataSource dataSource = mock(DataSource.class);
+		try {
+			when(dataSource.getConnection()).thenReturn(connection);
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+		return dataSource;
+	}
+}
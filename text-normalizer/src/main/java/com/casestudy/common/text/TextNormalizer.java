@@ -0,0 +1,94 @@
+package com.casestudy.common.text;
+
+/**
+ * Folds free-text names into the compact form stored in the {@code normalized_*} search columns:
+ * Latin letters with diacritics are transliterated to ASCII (Turkish included), everything is lower-cased,
+ * and any character that is not {@code [a-z0-9]} is dropped.
+ * <p>
+ * Works in a single pass over a lookup table, without regular expressions or intermediate strings.
+ * Input that is already normalized is returned as is.
+ */
+public final class TextNormalizer {
+
+    private static final int TABLE_SIZE = 0x180;
+
+    private static final String[] TRANSLITERATION = new String[TABLE_SIZE];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            map(String.valueOf(c), String.valueOf(c));
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            map(String.valueOf(c) + Character.toUpperCase(c), String.valueOf(c));
+        }
+        map("ÀÁÂÃÄÅàáâãäåĀāĂăĄą", "a");
+        map("ÇçĆćĈĉĊċČč", "c");
+        map("ÐðĎďĐđ", "d");
+        map("ÈÉÊËèéêëĒēĔĕĖėĘęĚě", "e");
+        map("ĜĝĞğĠġĢģ", "g");
+        map("ĤĥĦħ", "h");
+        map("ÌÍÎÏìíîïĨĩĪīĬĭĮįİı", "i");
+        map("Ĵĵ", "j");
+        map("Ķķĸ", "k");
+        map("ĹĺĻļĽľĿŀŁł", "l");
+        map("ÑñŃńŅņŇňŉŊŋ", "n");
+        map("ÒÓÔÕÖØòóôõöøŌōŎŏŐő", "o");
+        map("ŔŕŖŗŘř", "r");
+        map("ŚśŜŝŞşŠšſ", "s");
+        map("ŢţŤťŦŧ", "t");
+        map("ÙÚÛÜùúûüŨũŪūŬŭŮůŰűŲų", "u");
+        map("Ŵŵ", "w");
+        map("ÝýÿŶŷŸ", "y");
+        map("ŹźŻżŽž", "z");
+        map("Ææ", "ae");
+        map("Ĳĳ", "ij");
+        map("Œœ", "oe");
+        map("ß", "ss");
+        map("Þþ", "th");
+    }
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(CharSequence input) {
+        if (input == null) {
+            return null;
+        }
+        int length = input.length();
+        int firstChange = 0;
+        while (firstChange < length && isNormalized(input.charAt(firstChange))) {
+            firstChange++;
+        }
+        if (firstChange == length) {
+            return input.toString();
+        }
+
+        // Expansions (ß -> ss, æ -> ae, ...) at most double the length.
+        char[] out = new char[length * 2];
+        int size = 0;
+        for (int i = 0; i < firstChange; i++) {
+            out[size++] = input.charAt(i);
+        }
+        for (int i = firstChange; i < length; i++) {
+            char c = input.charAt(i);
+            String replacement = c < TABLE_SIZE ? TRANSLITERATION[c] : null;
+            if (replacement == null) {
+                continue;
+            }
+            for (int r = 0; r < replacement.length(); r++) {
+                out[size++] = replacement.charAt(r);
+            }
+        }
+        return new String(out, 0, size);
+    }
+
+    private static boolean isNormalized(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+    private static void map(String sources, String target) {
+        for (int i = 0; i < sources.length(); i++) {
+            TRANSLITERATION[sources.charAt(i)] = target;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.casestudy.common.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TextNormalizerTest {
+
+	@Test
+	void transliteratesTurkishCharacters() {
+		assertEquals("cagriozgulseker", TextNormalizer.normalize("Çağrı Özgül Şeker"));
+		assertEquals("istanbulic", TextNormalizer.normalize("İSTANBUL ıç"));
+	}
+
+	@Test
+	void dropsPunctuationAndWhitespace() {
+		assertEquals("digitopiasolutionsinc2024", TextNormalizer.normalize("  Digitopia Solutions, Inc. (2024) "));
+	}
+
+	@Test
+	void foldsOtherLatinDiacriticsAndExpansions() {
+		assertEquals("francoisstrassecoeur", TextNormalizer.normalize("François Straße Cœur"));
+	}
+
+	@Test
+	void dropsCharactersOutsideTheTable() {
+		assertEquals("ab", TextNormalizer.normalize("a→Ωб😀b"));
+	}
+
+	@Test
+	void returnsAlreadyNormalizedInputAsIs() {
+		String normalized = "johndoe42";
+		assertSame(normalized, TextNormalizer.normalize(normalized));
+	}
+
+	@Test
+	void handlesNullAndEmpty() {
+		assertNull(TextNormalizer.normalize(null));
+		assertEquals("", TextNormalizer.normalize(""));
+	}
+}
@@ -1,9 +1,12 @@
 package com.casestudy.userservice;
 
+import com.casestudy.common.datasource.ReadReplicaConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(ReadReplicaConfiguration.class)
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,39 @@
+package com.casestudy.userservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops the unique constraint Hibernate once generated on {@code users.email}, which {@code uk_user_normalized_email}
+ * replaces. Its name was generated, so it is looked up in {@code pg_constraint} by table and column rather than
+ * hardcoded. Constraints spanning more columns than {@code email} are left alone. A no-op once it is gone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyEmailConstraintCleanup implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> constraints = jdbcTemplate.queryForList("""
+                SELECT c.conname FROM pg_constraint c
+                JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+                WHERE c.conrelid = 'users'::regclass
+                  AND c.contype = 'u'
+                  AND cardinality(c.conkey) = 1
+                  AND a.attname = 'email'
+                """, String.class);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT \"" + constraint.replace("\"", "\"\"") + "\"");
+            log.info("Dropped unique constraint {} on users.email, replaced by uk_user_normalized_email", constraint);
+        }
+    }
+}
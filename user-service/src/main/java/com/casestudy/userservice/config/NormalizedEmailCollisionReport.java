@@ -0,0 +1,51 @@
+package com.casestudy.userservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Warns about users the {@code normalized_email} backfill in {@code db/user-search.sql} had to skip because another
+ * user has the same email up to case and surrounding spaces. They cannot be found by email until merged or renamed.
+ * Their number is also exported as {@code users.email.unnormalized}, as of startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NormalizedEmailCollisionReport implements ApplicationRunner {
+
+    private static final int MAX_LOGGED = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong unnormalized = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Gauge.builder("users.email.unnormalized", unnormalized, AtomicLong::get)
+                .description("Users without normalized_email because their email collides with another user's")
+                .register(meterRegistry);
+        Integer skipped = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE normalized_email IS NULL", Integer.class);
+        if (skipped == null || skipped == 0) {
+            return;
+        }
+        unnormalized.set(skipped);
+        List<String> emails = jdbcTemplate.queryForList("""
+                SELECT email FROM users
+                WHERE normalized_email IS NULL
+                ORDER BY lower(trim(email)), id
+                LIMIT ?
+                """, String.class, MAX_LOGGED);
+        log.warn("{} users have no normalized_email because another user has the same email up to case or spaces; "
+                + "merge or rename them: {}", skipped, emails);
+    }
+}
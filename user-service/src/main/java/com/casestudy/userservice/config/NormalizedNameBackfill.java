@@ -0,0 +1,63 @@
+package com.casestudy.userservice.config;
+
+import com.casestudy.common.text.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recomputes {@code users.normalized_name} with {@link TextNormalizer}. The previous rule only
+ * transliterated Turkish letters, so names with other diacritics were stored without them. Walks the table by id
+ * in chunks and only updates rows whose value changes, leaving {@code updated_at} untouched.
+ */
+@Component
+@ConditionalOnProperty(name = "users.normalized-name.recalculate-on-startup", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class NormalizedNameBackfill implements ApplicationRunner {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        UUID lastId = new UUID(0, 0);
+        int updated = 0;
+        List<Row> rows;
+        do {
+            rows = jdbcTemplate.query("""
+                    SELECT id, full_name, normalized_name FROM users
+                    WHERE id > ? ORDER BY id LIMIT ?
+                    """, (rs, i) -> new Row(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3)),
+                    lastId, CHUNK_SIZE);
+            List<Object[]> changes = rows.stream()
+                    .filter(Row::isStale)
+                    .map(row -> new Object[]{TextNormalizer.normalize(row.name()), row.id()})
+                    .toList();
+            if (!changes.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE users SET normalized_name = ? WHERE id = ?", changes);
+                updated += changes.size();
+            }
+            if (!rows.isEmpty()) {
+                lastId = rows.get(rows.size() - 1).id();
+            }
+        } while (rows.size() == CHUNK_SIZE);
+        log.info("Recalculated normalized_name for {} users", updated);
+    }
+
+    private record Row(UUID id, String name, String normalizedName) {
+
+        boolean isStale() {
+            return name != null && !TextNormalizer.normalize(name).equals(normalizedName);
+        }
+    }
+}
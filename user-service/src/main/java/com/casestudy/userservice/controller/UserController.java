@@ -1,14 +1,28 @@
 package com.casestudy.userservice.controller;
 
+import com.casestudy.userservice.dto.BatchGetRequest;
+import com.casestudy.userservice.dto.BatchGetResponse;
+import com.casestudy.userservice.dto.CursorPage;
+import com.casestudy.userservice.dto.PageCursor;
+import com.casestudy.userservice.dto.UserImportResult;
 import com.casestudy.userservice.entity.User;
 import com.casestudy.userservice.enums.UserStatus;
+import com.casestudy.userservice.service.UserImportService;
 import com.casestudy.userservice.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,10 +32,15 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @GetMapping
-    public ResponseEntity<List<User>> getAll() {
-        return ResponseEntity.ok(userService.getAll());
+    public ResponseEntity<CursorPage<User>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String sort
+    ) {
+        return ResponseEntity.ok(userService.getAll(cursor, size, PageCursor.direction(sort)));
     }
 
     @GetMapping("/{id}")
@@ -29,11 +48,32 @@ public class UserController {
         return ResponseEntity.ok(userService.getById(id));
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<User>> getByIds(@RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(userService.getByIds(request.ids()));
+    }
+
     @PostMapping
     public ResponseEntity<User> create(@Valid @RequestBody User user) {
         return ResponseEntity.status(HttpStatus.CREATED).body(userService.create(user));
     }
 
+    /**
+     * Creates users from an NDJSON or CSV body, read as it streams in. Rows that cannot be imported are reported
+     * in the result and do not stop the import.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<UserImportResult> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                        InputStream body) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        Reader reader = new InputStreamReader(body, charset);
+        if (!"csv".equals(contentType.getSubtype())) {
+            return ResponseEntity.ok(userImportService.importNdjson(reader));
+        }
+        // Only an unusable header ends an import, with 400 from GlobalExceptionHandler; bad rows are reported
+        return ResponseEntity.ok(userImportService.importCsv(reader));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<User> update(@PathVariable UUID id, @Valid @RequestBody User updatedUser) {
         return ResponseEntity.ok(userService.update(id, updatedUser));
@@ -50,6 +90,16 @@ public class UserController {
         return ResponseEntity.ok(userService.getByEmail(email));
     }
 
+    @GetMapping("/search-by-normalized-name")
+    public ResponseEntity<CursorPage<User>> searchByName(
+            @RequestParam String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean fuzzy
+    ) {
+        return ResponseEntity.ok(userService.searchByName(name, cursor, size, fuzzy));
+    }
+
     @GetMapping("/role/{role}")
     public ResponseEntity<List<User>> getByRole(@PathVariable String role) {
         return ResponseEntity.ok(userService.getByRole(role));
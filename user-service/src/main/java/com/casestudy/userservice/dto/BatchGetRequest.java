@@ -0,0 +1,7 @@
+package com.casestudy.userservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchGetRequest(List<UUID> ids) {
+}
@@ -0,0 +1,31 @@
+package com.casestudy.userservice.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a batch lookup: the found records in the order their IDs were requested (repeated IDs once), and the
+ * requested IDs that do not exist.
+ */
+public record BatchGetResponse<T>(List<T> items, List<UUID> missing) {
+
+    public static <T> BatchGetResponse<T> of(List<UUID> requestedIds, List<T> found, Function<T, UUID> idOf) {
+        Map<UUID, T> byId = found.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> items = new ArrayList<>(byId.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(requestedIds)) {
+            T item = byId.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchGetResponse<>(items, missing);
+    }
+}
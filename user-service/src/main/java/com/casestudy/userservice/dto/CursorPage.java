@@ -0,0 +1,20 @@
+package com.casestudy.userservice.dto;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasMore) {
+
+    public static <T> CursorPage<T> of(Window<T> window, Function<T, PageCursor> cursorOf) {
+        List<T> items = window.getContent();
+        if (!window.hasNext() || items.isEmpty()) {
+            return new CursorPage<>(items, null, false);
+        }
+        return new CursorPage<>(items, cursorOf.apply(items.get(items.size() - 1)).encode(), true);
+    }
+}
@@ -0,0 +1,13 @@
+package com.casestudy.userservice.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists rejected rows by line number, up to the configured limit;
+ * {@code errorsTruncated} tells whether more rows were rejected than listed.
+ */
+public record UserImportResult(long rows, long imported, long failed, List<RowError> errors, boolean errorsTruncated) {
+
+    public record RowError(long line, String email, String message) {
+    }
+}
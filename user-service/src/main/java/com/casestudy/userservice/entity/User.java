@@ -1,5 +1,7 @@
 package com.casestudy.userservice.entity;
 
+import com.casestudy.common.id.TimeOrderedId;
+import com.casestudy.common.text.TextNormalizer;
 import com.casestudy.userservice.enums.UserRole;
 import com.casestudy.userservice.enums.UserStatus;
 import jakarta.persistence.*;
@@ -20,21 +22,34 @@ import java.util.UUID;
         name = "users",
         indexes = {
                 @Index(name = "idx_user_normalized_name", columnList = "normalized_name"),
-                @Index(name = "idx_user_email", columnList = "email")
+                @Index(name = "idx_user_email", columnList = "email"),
+                @Index(name = User.NORMALIZED_EMAIL_CONSTRAINT, columnList = "normalized_email", unique = true),
+                @Index(name = "idx_user_created_at_id", columnList = "created_at, id")
         }
 )
 @Getter
 @Setter
 public class User {
 
+    /**
+     * The unique index that decides whether an email is taken.
+     */
+    public static final String NORMALIZED_EMAIL_CONSTRAINT = "uk_user_normalized_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @Email(message = "Invalid email format")
     private String email;
 
+    /**
+     * Canonical form of {@link #email} used for lookups and uniqueness, see {@link #normalizeEmail(String)}.
+     */
+    @Column(name = "normalized_email")
+    private String normalizedEmail;
+
     @Column(nullable = false)
     @NotBlank(message = "Full name cannot be blank")
     @Pattern(regexp = "^[\\p{L} ]+$", message = "Full name can only contain letters and spaces")
@@ -65,18 +80,21 @@ public class User {
 
     @PrePersist
     @PreUpdate
+    public void normalize() {
+        normalizeName();
+        this.normalizedEmail = normalizeEmail(email);
+    }
+
     public void normalizeName() {
         if (fullName != null) {
-            this.normalizedName = fullName
-                    .trim()
-                    .replace("ç", "c").replace("Ç", "C")
-                    .replace("ğ", "g").replace("Ğ", "G")
-                    .replace("ı", "i").replace("İ", "I")
-                    .replace("ö", "o").replace("Ö", "O")
-                    .replace("ş", "s").replace("Ş", "S")
-                    .replace("ü", "u").replace("Ü", "U")
-                    .toLowerCase(Locale.ENGLISH)
-                    .replaceAll("[^a-z0-9]", "");
+            this.normalizedName = TextNormalizer.normalize(fullName);
         }
     }
+
+    /**
+     * Emails are unique ignoring case: the canonical form is trimmed and lower-cased.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
 }
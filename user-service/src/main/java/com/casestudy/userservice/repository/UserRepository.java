@@ -2,14 +2,83 @@ package com.casestudy.userservice.repository;
 
 import com.casestudy.userservice.entity.User;
 import com.casestudy.userservice.enums.UserRole;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
-    boolean existsByEmailIgnoreCase(String email);
-    Optional<User> findByEmailIgnoreCase(String email);
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
+    /**
+     * Email lookups take the {@link User#normalizeEmail(String) normalized} email and use
+     * {@code uk_user_normalized_email}.
+     */
+    boolean existsByNormalizedEmail(String normalizedEmail);
+
+    Optional<User> findByNormalizedEmail(String normalizedEmail);
+
+    /**
+     * Which of the given normalized emails are taken; one query per bulk import chunk.
+     */
+    @Query("SELECT u.normalizedEmail FROM User u WHERE u.normalizedEmail IN :emails")
+    Set<String> findExistingNormalizedEmails(@Param("emails") Collection<String> normalizedEmails);
+
+    /**
+     * One page of normalized emails in index order, after {@code after}; used to load {@code RegisteredEmailFilter}.
+     */
+    @Query(value = """
+            SELECT normalized_email FROM users
+            WHERE normalized_email > :after
+            ORDER BY normalized_email
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findNormalizedEmailsAfter(@Param("after") String after, @Param("limit") int limit);
     List<User> findByRole(UserRole role);
+
+    Window<User> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * First page of a prefix search, served by {@code idx_user_normalized_name_prefix}.
+     */
+    @Query(value = """
+            SELECT * FROM users
+            WHERE normalized_name COLLATE "C" LIKE :prefix || '%'
+            ORDER BY normalized_name COLLATE "C", id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<User> findByNormalizedNamePrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    /**
+     * Following pages of a prefix search, continuing after {@code (afterName, afterId)}.
+     */
+    @Query(value = """
+            SELECT * FROM users
+            WHERE normalized_name COLLATE "C" LIKE :prefix || '%'
+              AND (normalized_name COLLATE "C", id) > (CAST(:afterName AS varchar) COLLATE "C", :afterId)
+            ORDER BY normalized_name COLLATE "C", id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<User> findByNormalizedNamePrefixAfter(@Param("prefix") String prefix,
+                                               @Param("afterName") String afterName,
+                                               @Param("afterId") UUID afterId,
+                                               @Param("limit") int limit);
+
+    /**
+     * Typo-tolerant search served by {@code idx_user_normalized_name_trgm}, best matches first.
+     */
+    @Query(value = """
+            SELECT * FROM users
+            WHERE :query <% normalized_name
+            ORDER BY word_similarity(:query, normalized_name) DESC, normalized_name, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<User> searchByNormalizedNameFuzzy(@Param("query") String query, @Param("limit") int limit);
 }
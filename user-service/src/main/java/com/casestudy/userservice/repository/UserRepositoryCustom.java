@@ -0,0 +1,18 @@
+package com.casestudy.userservice.repository;
+
+import com.casestudy.userservice.entity.User;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Inserts the users with JDBC batching, bypassing the persistence context. Ids and timestamps are assigned here.
+     */
+    void insertUsers(List<User> users);
+
+    /**
+     * Refreshes the planner statistics of {@code users}, which autovacuum only does on its own schedule.
+     */
+    void analyze();
+}
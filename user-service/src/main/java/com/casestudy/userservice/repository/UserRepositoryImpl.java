@@ -0,0 +1,49 @@
+package com.casestudy.userservice.repository;
+
+import com.casestudy.common.id.TimeOrderedUuid;
+import com.casestudy.userservice.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, email, normalized_email, full_name, normalized_name, role, status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertUsers(List<User> users) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_USER, users, JDBC_BATCH_SIZE, (ps, user) -> {
+            user.setId(TimeOrderedUuid.next());
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            user.normalize();
+            ps.setObject(1, user.getId());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getNormalizedEmail());
+            ps.setString(4, user.getFullName());
+            ps.setString(5, user.getNormalizedName());
+            ps.setString(6, user.getRole().name());
+            ps.setString(7, user.getStatus().name());
+            ps.setTimestamp(8, timestamp);
+            ps.setTimestamp(9, timestamp);
+        });
+    }
+
+    @Override
+    public void analyze() {
+        jdbcTemplate.execute("ANALYZE users");
+    }
+}
@@ -0,0 +1,160 @@
+package com.casestudy.userservice.service;
+
+import com.casestudy.userservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory Bloom filter over the normalized emails of all users, so that {@link UserService#create} can skip the
+ * existence query for emails that are certainly new.
+ * <p>
+ * The filter answers "maybe taken" for everything while it is disabled ({@code users.email-filter.enabled}) or still
+ * loading the existing emails after startup. Emails are only ever added: deleted users and users created by other
+ * instances cost at most an extra query or a rejected insert, never a duplicate, because
+ * {@code uk_user_normalized_email} still decides.
+ */
+@Component
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final BloomFilter filter;
+    private volatile boolean loaded;
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 @Value("${users.email-filter.enabled:false}") boolean enabled,
+                                 @Value("${users.email-filter.expected-emails:10000000}") long expectedEmails,
+                                 @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.filter = enabled ? new BloomFilter(expectedEmails, falsePositiveRate) : null;
+    }
+
+    /**
+     * False only if no user has had {@code normalizedEmail} since the filter was loaded.
+     */
+    public boolean mightBeTaken(String normalizedEmail) {
+        return !loaded || filter.mightContain(normalizedEmail);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void add(String normalizedEmail) {
+        if (filter != null) {
+            filter.put(normalizedEmail);
+        }
+    }
+
+    /**
+     * Loads the existing emails in the background, so startup does not wait for a large table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (filter == null) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "email-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        long count = 0;
+        String after = "";
+        List<String> page;
+        try {
+            do {
+                page = userRepository.findNormalizedEmailsAfter(after, LOAD_PAGE_SIZE);
+                page.forEach(filter::put);
+                count += page.size();
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1);
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Could not load the registered email filter, every signup checks the database", e);
+            return;
+        }
+        loaded = true;
+        log.info("Loaded {} emails into the registered email filter ({} KiB) in {} ms",
+                count, filter.sizeInBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Lock-free Bloom filter with double hashing over a 64-bit string hash.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    // lost a race with another put on the same word, retry
+                }
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long sizeInBytes() {
+            return (long) words.length() * Long.BYTES;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xCBF29CE484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+            }
+            return mix(hash);
+        }
+
+        /**
+         * MurmurHash3's 64-bit finalizer, spreading FNV's weak low bits over the whole word.
+         */
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+            hash *= 0xC4CEB93FE1ACF5E5L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.casestudy.userservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads bulk import rows one line at a time, so an import never holds more than a chunk in memory. A line that
+ * cannot be parsed becomes a row carrying an {@code error} instead of ending the import.
+ */
+final class UserImportReader {
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    record Row(long line, String email, String fullName, String role, String status, String error) {
+
+        static Row invalid(long line, String error) {
+            return new Row(line, null, null, null, null, error);
+        }
+    }
+
+    private interface LineParser {
+        Row parse(long line, String text);
+    }
+
+    private final BufferedReader reader;
+    private LineParser parser;
+    private long line;
+
+    private UserImportReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    /**
+     * One JSON object per line with {@code email}, {@code fullName} and optional {@code role} and {@code status}.
+     */
+    static UserImportReader ndjson(Reader reader, ObjectMapper objectMapper) {
+        UserImportReader importReader = new UserImportReader(reader);
+        importReader.parser = (line, text) -> {
+            try {
+                JsonNode node = objectMapper.readTree(text);
+                if (!node.isObject()) {
+                    return Row.invalid(line, "Expected a JSON object");
+                }
+                return new Row(line, text(node, "email"), text(node, "fullName"),
+                        text(node, "role"), text(node, "status"), null);
+            } catch (JsonProcessingException e) {
+                return Row.invalid(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        };
+        return importReader;
+    }
+
+    /**
+     * Comma-separated values with a header row naming the columns {@code email}, {@code fullName} and optionally
+     * {@code role} and {@code status}, in any order. Fields may be double-quoted; quoted line breaks are not supported.
+     */
+    static UserImportReader csv(Reader reader) throws IOException {
+        UserImportReader importReader = new UserImportReader(reader);
+        String header = importReader.nextLine();
+        List<String> columns = header == null ? List.of() : splitCsv(header.replace(BYTE_ORDER_MARK, ""));
+        if (columns == null) {
+            throw new IllegalArgumentException("Malformed CSV header");
+        }
+        List<String> names = columns.stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toList();
+        int email = names.indexOf("email");
+        int fullName = names.contains("fullname") ? names.indexOf("fullname") : names.indexOf("full_name");
+        int role = names.indexOf("role");
+        int status = names.indexOf("status");
+        if (email < 0 || fullName < 0) {
+            throw new IllegalArgumentException("CSV header must name the email and fullName columns");
+        }
+
+        importReader.parser = (line, text) -> {
+            List<String> fields = splitCsv(text);
+            if (fields == null) {
+                return Row.invalid(line, "Unterminated quoted field");
+            }
+            if (fields.size() != columns.size()) {
+                return Row.invalid(line, "Expected " + columns.size() + " fields but found " + fields.size());
+            }
+            return new Row(line, fields.get(email), fields.get(fullName),
+                    role < 0 ? null : fields.get(role), status < 0 ? null : fields.get(status), null);
+        };
+        return importReader;
+    }
+
+    /**
+     * The next non-blank row, or null at the end of the input.
+     */
+    Row next() throws IOException {
+        String text = nextLine();
+        return text == null ? null : parser.parse(line, text);
+    }
+
+    private String nextLine() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+        } while (text != null && text.isBlank());
+        return text;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Splits one CSV line into fields, or returns null if a quoted field is not closed.
+     */
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
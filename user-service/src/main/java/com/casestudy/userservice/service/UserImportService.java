@@ -0,0 +1,207 @@
+package com.casestudy.userservice.service;
+
+import com.casestudy.userservice.dto.UserImportResult;
+import com.casestudy.userservice.entity.User;
+import com.casestudy.userservice.enums.UserRole;
+import com.casestudy.userservice.enums.UserStatus;
+import com.casestudy.userservice.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import from NDJSON or CSV.
+ * <p>
+ * Rows are read as they arrive and handled in chunks of {@code users.import.chunk-size}: each chunk checks its
+ * emails against the table with one query and is inserted with one JDBC batch in its own transaction, so later
+ * failures never undo rows already imported. Rows that fail validation or reuse an email (ignoring case) are skipped
+ * and reported by line number.
+ * <p>
+ * An import can grow the table faster than autovacuum refreshes its statistics, and with statistics of a small table
+ * the email check turns into a sequential scan. The table is therefore analyzed whenever the import has added as
+ * many rows as it held at the last analysis.
+ */
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportService {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final RegisteredEmailFilter registeredEmails;
+    private final ObjectMapper objectMapper;
+
+    @Value("${users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${users.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public UserImportResult importNdjson(Reader reader) throws IOException {
+        return importRows(UserImportReader.ndjson(reader, objectMapper));
+    }
+
+    public UserImportResult importCsv(Reader reader) throws IOException {
+        return importRows(UserImportReader.csv(reader));
+    }
+
+    private UserImportResult importRows(UserImportReader reader) throws IOException {
+        Tally tally = new Tally(maxReportedErrors);
+        long existing = userRepository.count();
+        long analyzeAt = Math.max(chunkSize, existing);
+        List<UserImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        UserImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, tally);
+                chunk.clear();
+                if (tally.imported >= analyzeAt) {
+                    userRepository.analyze();
+                    analyzeAt = existing + 2 * tally.imported;
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, tally);
+        }
+        log.info("User import: {} rows, {} imported, {} failed", tally.rows, tally.imported, tally.failed);
+        return tally.result();
+    }
+
+    private void importChunk(List<UserImportReader.Row> rows, Tally tally) {
+        tally.rows += rows.size();
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (UserImportReader.Row row : rows) {
+            if (row.error() != null) {
+                tally.reject(row.line(), row.email(), row.error());
+                continue;
+            }
+            try {
+                User user = toUser(row);
+                if (candidates.putIfAbsent(User.normalizeEmail(user.getEmail()), new Candidate(row.line(), user)) != null) {
+                    tally.reject(row.line(), row.email(), "Email appears earlier in this import: " + row.email());
+                }
+            } catch (IllegalArgumentException e) {
+                tally.reject(row.line(), row.email(), e.getMessage());
+            }
+        }
+
+        // A concurrent writer can take an email between the check and the insert; check again once if it does,
+        // and if the batch still collides, insert the rest one by one so only the taken emails are rejected
+        for (int attempt = 1; !candidates.isEmpty(); attempt++) {
+            Set<String> existing = userRepository.findExistingNormalizedEmails(candidates.keySet());
+            existing.forEach(email -> {
+                Candidate taken = candidates.remove(email);
+                if (taken != null) {
+                    rejectTaken(taken, tally);
+                }
+            });
+            List<User> users = candidates.values().stream().map(Candidate::user).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRepository.insertUsers(users));
+                tally.imported += users.size();
+                candidates.keySet().forEach(registeredEmails::add);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == 2) {
+                    candidates.forEach((email, candidate) -> importOne(email, candidate, tally));
+                    return;
+                }
+            }
+        }
+    }
+
+    private void importOne(String normalizedEmail, Candidate candidate, Tally tally) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.insertUsers(List.of(candidate.user())));
+            tally.imported++;
+            registeredEmails.add(normalizedEmail);
+        } catch (DuplicateKeyException e) {
+            rejectTaken(candidate, tally);
+        }
+    }
+
+    private static void rejectTaken(Candidate candidate, Tally tally) {
+        tally.reject(candidate.line(), candidate.user().getEmail(), "Email already exists: " + candidate.user().getEmail());
+    }
+
+    private User toUser(UserImportReader.Row row) {
+        if (!StringUtils.hasText(row.email()) || !StringUtils.hasText(row.fullName())) {
+            throw new IllegalArgumentException("Email and full name cannot be blank.");
+        }
+        User user = new User();
+        user.setEmail(row.email().trim());
+        user.setFullName(row.fullName().trim());
+        if (StringUtils.hasText(row.role())) {
+            user.setRole(parse(UserRole.class, row.role(), "role"));
+        }
+        if (StringUtils.hasText(row.status())) {
+            user.setStatus(parse(UserStatus.class, row.status(), "status"));
+        }
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return user;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private record Candidate(long line, User user) {
+    }
+
+    private static final class Tally {
+
+        private final int maxErrors;
+        private final List<UserImportResult.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long line, String email, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new UserImportResult.RowError(line, email, message));
+            }
+        }
+
+        private UserImportResult result() {
+            errors.sort((a, b) -> Long.compare(a.line(), b.line()));
+            return new UserImportResult(rows, imported, failed, errors, failed > errors.size());
+        }
+    }
+}
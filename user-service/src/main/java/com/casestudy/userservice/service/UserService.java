@@ -1,23 +1,42 @@
 package com.casestudy.userservice.service;
 
+import com.casestudy.common.datasource.ReplicaLagTolerance;
+import com.casestudy.common.text.TextNormalizer;
+import com.casestudy.userservice.dto.BatchGetResponse;
+import com.casestudy.userservice.dto.CursorPage;
+import com.casestudy.userservice.dto.NameCursor;
+import com.casestudy.userservice.dto.PageCursor;
 import com.casestudy.userservice.entity.User;
 import com.casestudy.userservice.enums.UserRole;
 import com.casestudy.userservice.enums.UserStatus;
 import com.casestudy.userservice.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_GET_SIZE = 1000;
+    private static final int MIN_TRIGRAM_QUERY_LENGTH = 3;
+
     private final UserRepository userRepository;
+    private final RegisteredEmailFilter registeredEmails;
 
     @Transactional
     public User create(User user) {
@@ -25,11 +44,14 @@ public class UserService {
             throw new IllegalArgumentException("Email and full name cannot be blank.");
         }
 
-        if (userRepository.existsByEmailIgnoreCase(user.getEmail())) {
+        String normalizedEmail = User.normalizeEmail(user.getEmail());
+        if (registeredEmails.mightBeTaken(normalizedEmail) && userRepository.existsByNormalizedEmail(normalizedEmail)) {
             throw new IllegalArgumentException("Email already exists: " + user.getEmail());
         }
 
-        return userRepository.save(user);
+        User saved = saveWithUniqueEmail(user);
+        registeredEmails.add(normalizedEmail);
+        return saved;
     }
 
     @Transactional
@@ -39,7 +61,9 @@ public class UserService {
         existing.setEmail(updatedUser.getEmail());
         existing.setRole(updatedUser.getRole());
         existing.setStatus(updatedUser.getStatus());
-        return userRepository.save(existing);
+        User saved = saveWithUniqueEmail(existing);
+        registeredEmails.add(saved.getNormalizedEmail());
+        return saved;
     }
 
     @Transactional
@@ -50,8 +74,42 @@ public class UserService {
         userRepository.deleteById(id);
     }
 
-    public List<User> getAll() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<User> getAll(String cursor, int size, Sort.Direction direction) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Window<User> window = userRepository.findBy(PageCursor.positionOf(cursor), PageCursor.sort(direction), Limit.of(size));
+        return CursorPage.of(window, u -> new PageCursor(u.getCreatedAt(), u.getId()));
+    }
+
+    /**
+     * Type-ahead name search. Prefix matches are paged by keyset on the normalized name; with {@code fuzzy} the
+     * query also tolerates typos and returns only the best {@code size} matches.
+     */
+    @Transactional(readOnly = true)
+    @ReplicaLagTolerance(maxLagMs = 10_000)
+    public CursorPage<User> searchByName(String name, String cursor, int size, boolean fuzzy) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String query = TextNormalizer.normalize(name);
+        if (query.isEmpty()) {
+            return new CursorPage<>(List.of(), null, false);
+        }
+        if (fuzzy && query.length() >= MIN_TRIGRAM_QUERY_LENGTH) {
+            return new CursorPage<>(userRepository.searchByNormalizedNameFuzzy(query, size), null, false);
+        }
+
+        NameCursor after = NameCursor.decode(cursor);
+        List<User> rows = after == null
+                ? userRepository.findByNormalizedNamePrefix(query, size + 1)
+                : userRepository.findByNormalizedNamePrefixAfter(query, after.normalizedName(), after.id(), size + 1);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, false);
+        }
+        User last = rows.get(size - 1);
+        return new CursorPage<>(rows.subList(0, size), new NameCursor(last.getNormalizedName(), last.getId()).encode(), true);
     }
 
     public User getById(UUID id) {
@@ -59,8 +117,22 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + id));
     }
 
+    /**
+     * Looks up to {@value #MAX_BATCH_GET_SIZE} users with one query, e.g. to resolve an organization's member IDs.
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse<User> getByIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_GET_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_GET_SIZE + " IDs.");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("IDs cannot be null.");
+        }
+        return BatchGetResponse.of(ids, userRepository.findAllById(new LinkedHashSet<>(ids)), User::getId);
+    }
+
     public User getByEmail(String email) {
-        return userRepository.findByEmailIgnoreCase(email)
+        return userRepository.findByNormalizedEmail(User.normalizeEmail(email))
                 .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
     }
 
@@ -73,6 +145,22 @@ public class UserService {
         }
     }
 
+    /**
+     * Flushes so that a lost race for an email, or one the filter let through, fails like the existence check. Other
+     * integrity violations are left as they are.
+     */
+    private User saveWithUniqueEmail(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && User.NORMALIZED_EMAIL_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                throw new IllegalArgumentException("Email already exists: " + user.getEmail());
+            }
+            throw e;
+        }
+    }
+
     @Transactional
     public User updateStatus(UUID id, UserStatus newStatus) {
         User user = getById(id);
@@ -0,0 +1,31 @@
+-- Indexes and backfills for UserRepository that JPA annotations cannot express. Run after Hibernate has created
+-- the tables (spring.jpa.defer-datasource-initialization=true).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Prefix search and its keyset pagination: "C" collation lets LIKE 'prefix%' and ORDER BY use the same index.
+CREATE INDEX IF NOT EXISTS idx_user_normalized_name_prefix
+    ON users (normalized_name COLLATE "C", id);
+
+CREATE INDEX IF NOT EXISTS idx_user_normalized_name_trgm
+    ON users USING gin (normalized_name gin_trgm_ops);
+
+-- Rows created before normalized_email existed (User.normalizeEmail: trimmed, lower case). Emails that differ only
+-- in case or surrounding spaces would collide under uk_user_normalized_email: the oldest of them gets the value, the
+-- others stay NULL until merged by hand. NormalizedEmailCollisionReport logs them at startup and exports their count
+-- as users.email.unnormalized; list them all with
+--   SELECT id, email, created_at FROM users WHERE normalized_email IS NULL ORDER BY lower(trim(email)), created_at;
+-- The IS NULL check is served by uk_user_normalized_email, so this is a no-op once every row has a value.
+UPDATE users u SET normalized_email = lower(trim(u.email))
+WHERE u.normalized_email IS NULL
+  AND NOT EXISTS (
+      SELECT 1 FROM users other
+      WHERE other.id <> u.id
+        AND (other.normalized_email = lower(trim(u.email))
+             OR (other.normalized_email IS NULL
+                 AND lower(trim(other.email)) = lower(trim(u.email))
+                 AND (coalesce(other.created_at, '-infinity'), other.id)
+                     < (coalesce(u.created_at, '-infinity'), u.id))));
+
+-- Replaced by uk_user_normalized_email. The old unique constraint on email has a generated name, so
+-- LegacyEmailConstraintCleanup looks it up and drops it at startup.
+DROP INDEX IF EXISTS idx_user_email_lower;
@@ -0,0 +1,76 @@
+package com.casestudy.userservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the startup steps that finish the {@code normalized_email} migration against a real PostgreSQL instance.
+ */
+class NormalizedEmailMigrationTest {
+
+	private static EmbeddedPostgres postgres;
+
+	private static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void startPostgres() throws IOException {
+		postgres = EmbeddedPostgres.start();
+		jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
+	@BeforeEach
+	void createUsersTable() {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+		jdbcTemplate.execute("""
+				CREATE TABLE users (
+				    id uuid PRIMARY KEY,
+				    email varchar(255) NOT NULL CONSTRAINT "UK_generated_Email" UNIQUE,
+				    normalized_email varchar(255) CONSTRAINT uk_user_normalized_email UNIQUE,
+				    created_at timestamp,
+				    CONSTRAINT uk_user_email_created UNIQUE (email, created_at)
+				)
+				""");
+	}
+
+	@Test
+	void dropsTheEmailConstraintWhateverItsName() {
+		LegacyEmailConstraintCleanup cleanup = new LegacyEmailConstraintCleanup(jdbcTemplate);
+
+		cleanup.run(null);
+		cleanup.run(null);
+
+		assertEquals(List.of("uk_user_email_created", "uk_user_normalized_email"), jdbcTemplate.queryForList(
+				"SELECT conname FROM pg_constraint WHERE conrelid = 'users'::regclass AND contype = 'u' ORDER BY conname",
+				String.class));
+	}
+
+	@Test
+	void exportsTheNumberOfUsersLeftWithoutANormalizedEmail() {
+		jdbcTemplate.update("""
+				INSERT INTO users (id, email, normalized_email) VALUES
+				    (gen_random_uuid(), 'Ann@example.com', 'ann@example.com'),
+				    (gen_random_uuid(), 'ANN@example.com ', NULL),
+				    (gen_random_uuid(), 'bob@example.com', 'bob@example.com')
+				""");
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+		new NormalizedEmailCollisionReport(jdbcTemplate, meterRegistry).run(null);
+
+		assertEquals(1, meterRegistry.get("users.email.unnormalized").gauge().value());
+	}
+}
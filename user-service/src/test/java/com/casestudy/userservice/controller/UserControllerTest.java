@@ -0,0 +1,62 @@
+package com.casestudy.userservice.controller;
+
+import com.casestudy.userservice.repository.UserRepository;
+import com.casestudy.userservice.service.RegisteredEmailFilter;
+import com.casestudy.userservice.service.UserImportService;
+import com.casestudy.userservice.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+
+	private final MockMvc mockMvc = MockMvcBuilders
+			.standaloneSetup(new UserController(
+					new UserService(userRepository, new RegisteredEmailFilter(userRepository, false, 10, 0.01)),
+					mock(UserImportService.class)))
+			.setControllerAdvice(new GlobalExceptionHandler())
+			.build();
+
+	@Test
+	void rejectsAnUnknownSortDirection() throws Exception {
+		mockMvc.perform(get("/api/users").param("sort", "sideways"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Invalid sort direction: sideways. Use asc or desc."));
+	}
+
+	@Test
+	void rejectsAPageSizeOutOfRange() throws Exception {
+		mockMvc.perform(get("/api/users").param("size", "0"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Page size must be between 1 and 100"));
+	}
+
+	@Test
+	void rejectsAMalformedCursor() throws Exception {
+		mockMvc.perform(get("/api/users").param("cursor", "not-a-cursor"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Invalid page cursor: not-a-cursor"));
+	}
+
+	@Test
+	void answersNotFoundForAnUnknownUser() throws Exception {
+		UUID id = UUID.randomUUID();
+		when(userRepository.findById(any())).thenReturn(Optional.empty());
+
+		mockMvc.perform(get("/api/users/{id}", id))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.error").value("User not found with ID: " + id));
+	}
+}
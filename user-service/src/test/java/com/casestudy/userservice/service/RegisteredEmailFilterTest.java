@@ -0,0 +1,81 @@
+package com.casestudy.userservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegisteredEmailFilterTest {
+
+	private static final int EXPECTED = 100_000;
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	@Test
+	void containsEverySequentiallyAddedEmail() {
+		RegisteredEmailFilter.BloomFilter filter = new RegisteredEmailFilter.BloomFilter(EXPECTED, FALSE_POSITIVE_RATE);
+		for (int i = 0; i < EXPECTED; i++) {
+			filter.put(email(i));
+		}
+
+		for (int i = 0; i < EXPECTED; i++) {
+			assertTrue(filter.mightContain(email(i)), email(i));
+		}
+	}
+
+	@Test
+	void containsEveryConcurrentlyAddedEmail() throws Exception {
+		// A small filter, so that the threads keep setting bits in the same words
+		int threads = 8;
+		int perThread = 5_000;
+		RegisteredEmailFilter.BloomFilter filter = new RegisteredEmailFilter.BloomFilter(1_000, FALSE_POSITIVE_RATE);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int offset = t * perThread;
+				futures.add(executor.submit(() -> {
+					for (int i = offset; i < offset + perThread; i++) {
+						filter.put(email(i));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (int i = 0; i < threads * perThread; i++) {
+			assertTrue(filter.mightContain(email(i)), email(i));
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheConfiguredRate() {
+		RegisteredEmailFilter.BloomFilter filter = new RegisteredEmailFilter.BloomFilter(EXPECTED, FALSE_POSITIVE_RATE);
+		for (int i = 0; i < EXPECTED; i++) {
+			filter.put(email(i));
+		}
+
+		int probes = 200_000;
+		int falsePositives = 0;
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain("absent" + i + "@example.org")) {
+				falsePositives++;
+			}
+		}
+		double rate = (double) falsePositives / probes;
+		assertTrue(rate < FALSE_POSITIVE_RATE * 1.5, "false positive rate " + rate);
+	}
+
+	private static String email(int i) {
+		return "user" + i + "@example.com";
+	}
+}
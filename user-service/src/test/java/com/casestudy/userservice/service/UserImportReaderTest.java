@@ -0,0 +1,134 @@
+package com.casestudy.userservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserImportReaderTest {
+
+	@Test
+	void mapsCsvColumnsByHeaderNameInAnyOrder() throws IOException {
+		List<UserImportReader.Row> rows = csv("""
+				Status,full_name,EMAIL
+				active,Ada Lovelace,ada@example.com
+				""");
+
+		assertEquals(List.of(new UserImportReader.Row(2, "ada@example.com", "Ada Lovelace", null, "active", null)), rows);
+	}
+
+	@Test
+	void ignoresAByteOrderMarkBeforeTheHeader() throws IOException {
+		List<UserImportReader.Row> rows = csv("\uFEFFemail,fullName\nada@example.com,Ada\n");
+
+		assertEquals("ada@example.com", rows.get(0).email());
+	}
+
+	@Test
+	void unquotesFieldsWithCommasAndEscapedQuotes() throws IOException {
+		List<UserImportReader.Row> rows = csv("email,fullName,role\n"
+				+ "\"ada@example.com\",\"Lovelace, Ada \"\"The Countess\"\"\",\"\"\n");
+
+		UserImportReader.Row row = rows.get(0);
+		assertEquals("ada@example.com", row.email());
+		assertEquals("Lovelace, Ada \"The Countess\"", row.fullName());
+		assertEquals("", row.role());
+		assertNull(row.error());
+	}
+
+	@Test
+	void keepsEmptyTrailingFields() throws IOException {
+		List<UserImportReader.Row> rows = csv("email,fullName,role\nada@example.com,Ada,\n");
+
+		assertEquals("", rows.get(0).role());
+		assertNull(rows.get(0).error());
+	}
+
+	@Test
+	void reportsBadCsvRowsAndKeepsReading() throws IOException {
+		List<UserImportReader.Row> rows = csv("""
+				email,fullName
+				"ada@example.com,Ada
+				grace@example.com
+				alan@example.com,Alan
+				""");
+
+		assertEquals("Unterminated quoted field", rows.get(0).error());
+		assertEquals("Expected 2 fields but found 1", rows.get(1).error());
+		assertEquals("alan@example.com", rows.get(2).email());
+	}
+
+	@Test
+	void skipsBlankLinesButKeepsLineNumbers() throws IOException {
+		List<UserImportReader.Row> rows = csv("email,fullName\n\nada@example.com,Ada\n   \ngrace@example.com,Grace\n");
+
+		assertEquals(List.of(3L, 5L), rows.stream().map(UserImportReader.Row::line).toList());
+	}
+
+	@Test
+	void rejectsACsvHeaderWithoutRequiredColumns() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> csv("email,name\n"));
+
+		assertEquals("CSV header must name the email and fullName columns", e.getMessage());
+	}
+
+	@Test
+	void rejectsAMalformedCsvHeader() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> csv("\"email,fullName\n"));
+
+		assertEquals("Malformed CSV header", e.getMessage());
+	}
+
+	@Test
+	void rejectsEmptyCsvInput() {
+		assertThrows(IllegalArgumentException.class, () -> csv(""));
+	}
+
+	@Test
+	void readsNdjsonObjects() throws IOException {
+		List<UserImportReader.Row> rows = ndjson("""
+				{"email":"ada@example.com","fullName":"Ada","role":"ADMIN","status":null}
+				""");
+
+		assertEquals(List.of(new UserImportReader.Row(1, "ada@example.com", "Ada", "ADMIN", null, null)), rows);
+	}
+
+	@Test
+	void reportsBadNdjsonLinesAndKeepsReading() throws IOException {
+		List<UserImportReader.Row> rows = ndjson("""
+				{"email":
+				["ada@example.com"]
+				{"email":"grace@example.com","fullName":"Grace"}
+				""");
+
+		assertEquals(1, rows.get(0).line());
+		assertTrue(rows.get(0).error().startsWith("Malformed JSON"));
+		assertEquals("Expected a JSON object", rows.get(1).error());
+		assertEquals("grace@example.com", rows.get(2).email());
+	}
+
+	private static List<UserImportReader.Row> csv(String input) throws IOException {
+		return readAll(UserImportReader.csv(new StringReader(input)));
+	}
+
+	private static List<UserImportReader.Row> ndjson(String input) throws IOException {
+		return readAll(UserImportReader.ndjson(new StringReader(input), new ObjectMapper()));
+	}
+
+	private static List<UserImportReader.Row> readAll(UserImportReader reader) throws IOException {
+		List<UserImportReader.Row> rows = new ArrayList<>();
+		UserImportReader.Row row;
+		while ((row = reader.next()) != null) {
+			rows.add(row);
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,65 @@
+package com.casestudy.userservice.service;
+
+import com.casestudy.userservice.dto.UserImportResult;
+import com.casestudy.userservice.entity.User;
+import com.casestudy.userservice.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserImportServiceTest {
+
+	private static final String TAKEN = "taken@example.com";
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+
+	@Test
+	void rejectsOnlyTheEmailsTakenByAConcurrentWriter() throws IOException {
+		// Another writer holds TAKEN, but commits too late for the existence check to see it
+		when(userRepository.findExistingNormalizedEmails(anyCollection())).thenReturn(Set.of());
+		doAnswer(invocation -> {
+			List<User> users = invocation.getArgument(0);
+			if (users.stream().anyMatch(user -> user.getEmail().equals(TAKEN))) {
+				throw new DuplicateKeyException("uk_user_normalized_email");
+			}
+			return null;
+		}).when(userRepository).insertUsers(anyList());
+
+		UserImportResult result = service().importCsv(new StringReader("""
+				email,fullName
+				ada@example.com,Ada
+				taken@example.com,Taken
+				grace@example.com,Grace
+				"""));
+
+		assertEquals(2, result.imported());
+		assertEquals(1, result.failed());
+		assertEquals(List.of(new UserImportResult.RowError(3, TAKEN, "Email already exists: " + TAKEN)), result.errors());
+	}
+
+	private UserImportService service() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+		RegisteredEmailFilter registeredEmails = new RegisteredEmailFilter(userRepository, false, 10, 0.01);
+		UserImportService service = new UserImportService(userRepository, transactionTemplate,
+				Validation.buildDefaultValidatorFactory().getValidator(), registeredEmails, new ObjectMapper());
+		ReflectionTestUtils.setField(service, "chunkSize", 1000);
+		ReflectionTestUtils.setField(service, "maxReportedErrors", 1000);
+		return service;
+	}
+}
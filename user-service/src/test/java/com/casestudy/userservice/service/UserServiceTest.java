@@ -0,0 +1,54 @@
+package com.casestudy.userservice.service;
+
+import com.casestudy.userservice.entity.User;
+import com.casestudy.userservice.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+
+	private final UserService service =
+			new UserService(userRepository, new RegisteredEmailFilter(userRepository, false, 10, 0.01));
+
+	@Test
+	void reportsATakenEmailWhenTheNormalizedEmailIndexRejectsTheInsert() {
+		failSaveWith("uk_user_normalized_email");
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service.create(user()));
+
+		assertEquals("Email already exists: ada@example.com", e.getMessage());
+	}
+
+	@Test
+	void leavesOtherIntegrityViolationsAlone() {
+		DataIntegrityViolationException violation = failSaveWith("users_role_check");
+
+		assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> service.create(user())));
+	}
+
+	private DataIntegrityViolationException failSaveWith(String constraint) {
+		DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("violation", new SQLException("violation"), constraint));
+		when(userRepository.saveAndFlush(any())).thenThrow(violation);
+		return violation;
+	}
+
+	private static User user() {
+		User user = new User();
+		user.setEmail("ada@example.com");
+		user.setFullName("Ada Lovelace");
+		return user;
+	}
+}